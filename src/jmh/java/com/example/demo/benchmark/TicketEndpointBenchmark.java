@@ -0,0 +1,79 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.TicketApiApplication;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.model.Status;
+import com.example.demo.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests per second through the whole application (controller, service, JPA on H2, Jackson),
+ * without the network. Use -t to run with several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketEndpointBenchmark {
+
+    private static final int TICKETS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(TicketApiApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+
+        TicketService ticketService = context.getBean(TicketService.class);
+        for (int i = 0; i < TICKETS; i++) {
+            ticketService.createTicket(new TicketDto(null, "Ticket " + i, Status.NEW, LocalDateTime.now(), null, null, null));
+        }
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        long nextId;
+
+        long next() {
+            return 1 + (nextId++ % TICKETS);
+        }
+    }
+
+    @Benchmark
+    public MvcResult getTicket(Cursor cursor) throws Exception {
+        return mockMvc.perform(get("/tickets/{id}", cursor.next())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getTicketsPage() throws Exception {
+        return mockMvc.perform(get("/tickets/page").param("status", "NEW").param("size", "100")).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getTickets() throws Exception {
+        return mockMvc.perform(get("/tickets").param("status", "NEW")).andReturn();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.controller.exception.ControllerExceptionHandler;
+import com.example.demo.dto.ProblemDto;
+import com.example.demo.exception.TicketNotFoundException;
+import com.example.demo.util.ErrorMessages;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of failing a ticket lookup, from the throw to the response entity, thrown {@code depth} frames
+ * below the catch as in a request going through the filters, the controller and the service proxies.
+ * {@code legacy} is the previous path (stack trace captured, text response built per error), the others
+ * throw the stackless exceptions, new each time or shared, through the problem+json handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketErrorPathBenchmark {
+
+    @Param({"20", "150"})
+    int depth;
+
+    private final ControllerExceptionHandler handler = new ControllerExceptionHandler();
+
+    // The exception as it was before: a plain RuntimeException capturing its stack trace
+    private static class LegacyTicketNotFoundException extends RuntimeException {
+        LegacyTicketNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<String> legacy() {
+        try {
+            throwAt(depth, () -> new LegacyTicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+            return null;
+        } catch (LegacyTicketNotFoundException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDto> stackless() {
+        try {
+            throwAt(depth, () -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+            return null;
+        } catch (TicketNotFoundException ex) {
+            return handler.handleTicketNotFoundException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProblemDto> shared() {
+        try {
+            throwAt(depth, () -> TicketNotFoundException.INSTANCE);
+            return null;
+        } catch (TicketNotFoundException ex) {
+            return handler.handleTicketNotFoundException(ex);
+        }
+    }
+
+    private static void throwAt(int depth, Supplier<RuntimeException> failure) {
+        if (depth == 0) {
+            throw failure.get();
+        }
+        throwAt(depth - 1, failure);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.model.Agent;
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import com.example.demo.repository.TicketRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds in-memory tickets and their TicketDto views, so the benchmarks measure the serialization alone.
+ */
+final class TicketFixtures {
+
+    static final int AGENTS = 100;
+
+    private TicketFixtures() {} // Prevents instantiation
+
+    static List<Ticket> tickets(int count) {
+        Status[] statuses = Status.values();
+        List<Agent> agents = new ArrayList<>(AGENTS);
+        for (int i = 0; i < AGENTS; i++) {
+            agents.add(new Agent((long) i + 1, "Agent" + (i + 1)));
+        }
+
+        LocalDateTime epoch = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Ticket> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ticket ticket = new Ticket((long) i + 1, "Ticket description " + i, statuses[i % statuses.length], epoch.plusSeconds(i));
+            ticket.setAssignedAgent(agents.get(i % AGENTS));
+            if (ticket.getStatus() == Status.CLOSED) {
+                ticket.setResolutionSummary("Issue resolved");
+                ticket.setClosedDate(ticket.getCreatedDate().plusHours(1));
+            }
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    /**
+     * The tickets as the read queries of {@link TicketRepository} return them.
+     */
+    static List<TicketDto> views(List<Ticket> tickets) {
+        List<TicketDto> views = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            views.add(new TicketDto(
+                    ticket.getId(),
+                    ticket.getDescription(),
+                    ticket.getStatus(),
+                    ticket.getCreatedDate(),
+                    ticket.getClosedDate(),
+                    ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getName() : null,
+                    ticket.getResolutionSummary()));
+        }
+        return views;
+    }
+}
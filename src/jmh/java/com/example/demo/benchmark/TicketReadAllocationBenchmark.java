@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.TicketApiApplication;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.model.Agent;
+import com.example.demo.model.Ticket;
+import com.example.demo.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads every ticket from H2 through JPA, once by loading the entities with their agents and mapping them
+ * like convertToDto does, and once through the TicketDto projection of {@link TicketRepository} the ticket
+ * list runs.
+ * Each operation returns {@link #TICKETS} tickets, so when JMH runs with the GC profiler
+ * ({@code -prof gc}) the {@code gc.alloc.rate.norm} figure is the bytes allocated per returned ticket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(TicketReadAllocationBenchmark.TICKETS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketReadAllocationBenchmark {
+
+    static final int TICKETS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(TicketApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO agent (id, name) SELECT X, CONCAT('Agent', X) FROM SYSTEM_RANGE(1, ?)",
+                TicketFixtures.AGENTS);
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date, assigned_agent_id, version)
+                SELECT X, CONCAT('Ticket description ', X), 'IN_PROGRESS',
+                       DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), MOD(X, ?) + 1, 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, TicketFixtures.AGENTS, TICKETS);
+
+        ticketRepository = context.getBean(TicketRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TicketDto> entities() {
+        return readOnlyTransaction.execute(status -> entityManager.createQuery(
+                        "SELECT t FROM Ticket t LEFT JOIN FETCH t.assignedAgent ORDER BY t.createdDate, t.id", Ticket.class)
+                .getResultList().stream()
+                .map(TicketReadAllocationBenchmark::convertToDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TicketDto> projection() {
+        return readOnlyTransaction.execute(status -> ticketRepository.findViewListWithFilters(null, null, null, null).tickets());
+    }
+
+    private static TicketDto convertToDto(Ticket ticket) {
+        Agent assignedAgent = ticket.getAssignedAgent();
+        return new TicketDto(
+                ticket.getId(),
+                ticket.getDescription(),
+                ticket.getStatus(),
+                ticket.getCreatedDate(),
+                ticket.getClosedDate(),
+                assignedAgent != null ? assignedAgent.getName() : null,
+                ticket.getResolutionSummary());
+    }
+}
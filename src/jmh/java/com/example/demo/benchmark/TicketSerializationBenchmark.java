@@ -0,0 +1,41 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TicketDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a TicketDto list as JSON, with the same ObjectMapper settings as the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketSerializationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    int ticketCount;
+
+    private ObjectMapper objectMapper;
+    private List<TicketDto> ticketDtos;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ticketDtos = TicketFixtures.views(TicketFixtures.tickets(ticketCount));
+    }
+
+    @Benchmark
+    public void writeJsonList() throws IOException {
+        // Jackson closes the stream it writes to, and a closed null stream throws
+        objectMapper.writeValue(OutputStream.nullOutputStream(), ticketDtos);
+    }
+}
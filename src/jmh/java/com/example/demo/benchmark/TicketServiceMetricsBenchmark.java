@@ -0,0 +1,55 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.metrics.TicketServiceMetrics;
+import com.example.demo.model.Status;
+import com.example.demo.service.TicketService;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link TicketServiceMetrics} per service call: compares a call through a plain proxy with
+ * a call through the metrics aspect, on a service that does nothing. The difference should stay under 1 us.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketServiceMetricsBenchmark {
+
+    private static final TicketDto TICKET = new TicketDto(1L, "description", Status.NEW, null, null, null, null);
+
+    private TicketService plain;
+    private TicketService metered;
+
+    @Setup
+    public void setup() {
+        TicketService target = (TicketService) Proxy.newProxyInstance(
+                TicketService.class.getClassLoader(),
+                new Class<?>[]{TicketService.class},
+                (proxy, method, args) -> TICKET);
+
+        plain = new AspectJProxyFactory(target).getProxy();
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new TicketServiceMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)));
+        metered = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public TicketDto withoutMetrics() {
+        return plain.getTicketById(1L);
+    }
+
+    @Benchmark
+    public TicketDto withMetrics() {
+        return metered.getTicketById(1L);
+    }
+}
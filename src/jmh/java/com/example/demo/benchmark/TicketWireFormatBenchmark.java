@@ -0,0 +1,69 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.config.BinaryFormatConfig;
+import com.example.demo.dto.TicketDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of writing a TicketDto list in each wire format the API negotiates, raw and gzipped as the
+ * server compresses it. The size of each encoding is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketWireFormatBenchmark {
+
+    @Param({"100000"})
+    int ticketCount;
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<TicketDto> ticketDtos;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> BinaryFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+            case "smile" -> BinaryFormatConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+            default -> throw new IllegalArgumentException(format);
+        };
+        ticketDtos = TicketFixtures.views(TicketFixtures.tickets(ticketCount));
+
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        write(encoded);
+        System.out.printf("%n%s%s: %,d bytes for %,d tickets%n", format, gzip ? "+gzip" : "", encoded.size(), ticketCount);
+    }
+
+    @Benchmark
+    public void writeList() throws IOException {
+        write(OutputStream.nullOutputStream()); // Closed by each write
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        if (gzip) {
+            try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 8192)) {
+                objectMapper.writeValue(gzipOutputStream, ticketDtos);
+            }
+        } else {
+            objectMapper.writeValue(outputStream, ticketDtos);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.VersionedTicketDto;
+import com.example.demo.event.AgentChangedEvent;
+import com.example.demo.event.TicketChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Node-local cache of tickets by ID, with the version they were read at, bounded by size and time to live.
+ * Entries are invalidated once the transaction changing the ticket commits. A change to an agent, which the
+ * event does not tell the old name of, invalidates every assigned ticket.
+ */
+@Component
+public class TicketCache implements MeterBinder {
+
+    private final Cache<Long, VersionedTicketDto> tickets;
+
+    public TicketCache(@Value("${tickets.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${tickets.cache.ttl:PT5M}") Duration ttl) {
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached ticket, or loads and caches it. Exceptions thrown by the loader are propagated
+     * and nothing is cached.
+     */
+    public VersionedTicketDto get(Long ticketId, Function<Long, VersionedTicketDto> loader) {
+        return tickets.get(ticketId, loader);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        tickets.invalidate(event.ticket().id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentChanged(AgentChangedEvent event) {
+        tickets.asMap().values().removeIf(ticket -> ticket.ticket().assignedAgent() != null);
+    }
+
+    /**
+     * Publishes the hit, miss, eviction and size metrics under the "tickets" cache name.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tickets, "tickets");
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import com.example.demo.repository.TicketStatsRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local ticket counts per status and per assigned agent ID, kept up to date by applying the delta of
+ * each change once its transaction commits. Updates are lock-free; reads cost one sum per counter and
+ * never touch the database.
+ * <p>
+ * The counts are rebuilt from the database at startup and reconciled with it periodically, which also
+ * picks up changes made by other nodes. Tickets without a status are not counted. A change committing while the database is
+ * being counted can skew a counter until the next reconciliation.
+ */
+@Component
+public class TicketCounters implements MeterBinder {
+
+    private final TicketStatsRepository ticketStatsRepository;
+    private final Map<Status, LongAdder> byStatus = new EnumMap<>(Status.class);
+    private final Map<Long, LongAdder> byAssignedAgentId = new ConcurrentHashMap<>();
+    private final LongAdder corrections = new LongAdder();
+
+    public TicketCounters(TicketStatsRepository ticketStatsRepository) {
+        this.ticketStatsRepository = ticketStatsRepository;
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LongAdder()); // Never modified afterwards, so safe to read concurrently
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        TicketDto previous = event.previous();
+        TicketDto ticket = event.ticket();
+
+        Status previousStatus = previous != null ? previous.status() : null;
+        if (previousStatus != ticket.status()) {
+            add(previousStatus, -1);
+            add(ticket.status(), 1);
+        }
+
+        Long previousAgentId = previous != null ? event.previousAssignedAgentId() : null;
+        if (!Objects.equals(previousAgentId, event.assignedAgentId())) {
+            add(previousAgentId, -1);
+            add(event.assignedAgentId(), 1);
+        }
+    }
+
+    public TicketCountsDto getCounts() {
+        Map<Status, Long> statusCounts = new EnumMap<>(Status.class);
+        byStatus.forEach((status, count) -> statusCounts.put(status, count.sum()));
+
+        Map<Long, Long> agentCounts = new HashMap<>();
+        byAssignedAgentId.forEach((agent, count) -> {
+            long sum = count.sum();
+            if (sum != 0) {
+                agentCounts.put(agent, sum);
+            }
+        });
+
+        return new TicketCountsDto(statusCounts, agentCounts);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    /**
+     * Recounts the tickets in the database and corrects every counter that drifted from it.
+     */
+    @Scheduled(fixedDelayString = "${tickets.counters.reconcile-interval:PT1M}",
+            initialDelayString = "${tickets.counters.reconcile-interval:PT1M}")
+    public void reconcile() {
+        Map<Status, Long> statusCounts = ticketStatsRepository.countByStatus();
+        byStatus.forEach((status, count) -> correct(count, statusCounts.getOrDefault(status, 0L)));
+
+        Map<Long, Long> agentCounts = ticketStatsRepository.countByAgent();
+        agentCounts.forEach((agent, expected) -> correct(agentCounter(agent), expected));
+        byAssignedAgentId.forEach((agent, count) -> {
+            if (!agentCounts.containsKey(agent)) {
+                correct(count, 0);
+            }
+        });
+    }
+
+    /**
+     * Publishes the number of corrections made by the reconciliations, which should stay at zero on a
+     * single node.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tickets.counters.corrections", corrections, LongAdder::sum)
+                .description("Ticket counts corrected by the reconciliation with the database")
+                .register(registry);
+    }
+
+    private void add(Status status, long delta) {
+        if (status != null) {
+            byStatus.get(status).add(delta);
+        }
+    }
+
+    private void add(Long assignedAgentId, long delta) {
+        if (assignedAgentId != null) {
+            agentCounter(assignedAgentId).add(delta);
+        }
+    }
+
+    private LongAdder agentCounter(Long assignedAgentId) {
+        return byAssignedAgentId.computeIfAbsent(assignedAgentId, agent -> new LongAdder());
+    }
+
+    private void correct(LongAdder count, long expected) {
+        long drift = expected - count.sum();
+        if (drift != 0) {
+            count.add(drift);
+            corrections.add(Math.abs(drift));
+        }
+    }
+}
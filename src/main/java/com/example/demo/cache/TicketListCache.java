@@ -0,0 +1,140 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.event.AgentChangedEvent;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Node-local ticket lists by filter. Concurrent requests for the same filter share one query: the first
+ * runs it and the others wait for its result. With a positive {@code tickets.list-cache.ttl}, results are
+ * also kept for that long.
+ * <p>
+ * Once a ticket change commits, the lists filtered on its old or new status are dropped, and a query still
+ * running for them is neither joined nor cached. Any agent change drops every list.
+ * <p>
+ * Filters are expected normalized, so that equivalent filters are equal.
+ */
+@Component
+public class TicketListCache implements MeterBinder {
+
+    private static final class Load {
+        final CompletableFuture<TicketListDto> result = new CompletableFuture<>();
+        volatile boolean stale;
+    }
+
+    private final Cache<TicketFilterDto, TicketListDto> results; // Null when disabled
+    private final ConcurrentMap<TicketFilterDto, Load> loads = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    public TicketListCache(@Value("${tickets.list-cache.ttl:0s}") Duration ttl,
+                           @Value("${tickets.list-cache.maximum-size:1000}") long maximumSize) {
+        this.results = ttl.isPositive()
+                ? Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maximumSize).recordStats().build()
+                : null;
+    }
+
+    /**
+     * Returns the cached list, waits for the query running for the same filter, or runs the loader.
+     * Exceptions thrown by the loader are propagated to every waiting caller and nothing is cached.
+     */
+    public TicketListDto get(TicketFilterDto filter, Function<TicketFilterDto, TicketListDto> loader) {
+        if (results != null) {
+            TicketListDto cached = results.getIfPresent(filter);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // A query started before a change committed is not joined, its result may miss the change
+        Load load = new Load();
+        Load running = loads.compute(filter, (key, current) -> current != null && !current.stale ? current : load);
+        if (running != load) {
+            coalesced.increment();
+            return join(running);
+        }
+
+        try {
+            TicketListDto tickets = loader.apply(filter);
+            if (results != null) {
+                results.put(filter, tickets);
+                if (load.stale) { // A change committed during the query
+                    results.invalidate(filter);
+                }
+            }
+            load.result.complete(tickets);
+            return tickets;
+        } catch (RuntimeException e) {
+            load.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(filter, load);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        Status status = event.ticket().status();
+        Status previousStatus = event.previous() != null ? event.previous().status() : null;
+        invalidate(filter -> filter.status() == null
+                || status != null && filter.status().contains(status)
+                || previousStatus != null && filter.status().contains(previousStatus));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAgentChanged(AgentChangedEvent event) {
+        invalidate(filter -> true);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tickets.list.coalesced", coalesced, LongAdder::sum)
+                .description("Ticket list requests served by the query of an identical request")
+                .register(registry);
+        if (results != null) {
+            CaffeineCacheMetrics.monitor(registry, results, "ticketLists");
+        }
+    }
+
+    // Running queries are marked before the cached lists are dropped, see get
+    private void invalidate(Predicate<TicketFilterDto> touched) {
+        loads.forEach((filter, load) -> {
+            if (touched.test(filter)) {
+                load.stale = true;
+            }
+        });
+        if (results != null) {
+            results.asMap().keySet().removeIf(touched);
+        }
+    }
+
+    private static TicketListDto join(Load load) {
+        try {
+            return load.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active with {@code spring.threads.virtual.enabled=true} (see the "virtual-threads" profile): Tomcat then
+ * serves each request, and so each repository call, on its own virtual thread. Since nothing bounds those
+ * threads any more, the data source is wrapped so they queue for the connection pool behind a semaphore.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                    return bean;
+                }
+
+                int maxConnections = environment.getProperty("tickets.datasource.max-concurrent-connections",
+                        Integer.class, hikariDataSource.getMaximumPoolSize());
+                Duration acquireTimeout = Duration.ofMillis(hikariDataSource.getConnectionTimeout());
+                return new BoundedDataSource((DataSource) bean, maxConnections, acquireTimeout);
+            }
+        };
+    }
+}
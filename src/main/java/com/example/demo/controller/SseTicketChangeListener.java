@@ -0,0 +1,46 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.TicketChangeDto;
+import com.example.demo.feed.TicketChangeListener;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Writes the changes as server-sent events: the sequence as the event ID, so browsers resume with
+ * {@code Last-Event-ID}, the lifecycle step as the event name and the ticket as the data.
+ */
+class SseTicketChangeListener implements TicketChangeListener {
+
+    static final String GAP_EVENT = "GAP";
+
+    private final SseEmitter emitter;
+
+    SseTicketChangeListener(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onGap() throws IOException {
+        emitter.send(SseEmitter.event().name(GAP_EVENT).data("Some changes were missed, reload the tickets"));
+    }
+
+    @Override
+    public void onChange(TicketChangeDto change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(change.sequence()))
+                .name(change.type().name())
+                .data(change.ticket(), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onIdle() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void onEnd() {
+        emitter.complete();
+    }
+}
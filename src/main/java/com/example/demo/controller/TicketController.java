@@ -1,13 +1,50 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.TicketBatchResultDto;
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketCursor;
 import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
 import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.dto.TicketPageDto;
+import com.example.demo.dto.TicketSearchCursor;
+import com.example.demo.dto.TicketSearchPageDto;
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.dto.TicketTransitionResultDto;
+import com.example.demo.dto.VersionedTicketDto;
+import com.example.demo.feed.TicketChangeFeed;
+import com.example.demo.service.AgentDirectory;
+import com.example.demo.service.TicketChangeService;
+import com.example.demo.service.TicketHistoryService;
+import com.example.demo.service.TicketSearchService;
 import com.example.demo.service.TicketService;
+import com.example.demo.service.TicketStatsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
 import java.util.List;
 
 @RestController
@@ -17,12 +54,46 @@ public class TicketController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private TicketStatsService ticketStatsService;
+
+    @Autowired
+    private TicketSearchService ticketSearchService;
+
+    @Autowired
+    private TicketHistoryService ticketHistoryService;
+
+    @Autowired
+    private TicketChangeService ticketChangeService;
+
+    @Autowired
+    private AgentDirectory agentDirectory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<TicketDto> createTicket(@RequestBody TicketDto ticketDto) {
         TicketDto createdTicket = ticketService.createTicket(ticketDto);
         return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<TicketBatchResultDto> createTickets(@RequestBody List<TicketDto> ticketDtos) {
+        TicketBatchResultDto result = ticketService.createTickets(ticketDtos.stream());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<TicketBatchResultDto> createTicketsFromStream(HttpServletRequest request) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            TicketBatchResultDto result = ticketService.createTickets(reader.lines()
+                    .filter(line -> !line.isBlank())
+                    .map(this::readLine));
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @PutMapping("/{id}/assign/{agentId}")
     public ResponseEntity<TicketDto> assignAgent(@PathVariable Long id, @PathVariable Long agentId) {
         TicketDto updatedTicket = ticketService.assignAgentToTicket(id, agentId);
@@ -41,21 +112,180 @@ public class TicketController {
         return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
     }
 
+    @PutMapping("/batch/assign/{agentId}")
+    public ResponseEntity<List<TicketTransitionResultDto>> assignAgent(@RequestBody List<Long> ids, @PathVariable Long agentId) {
+        List<TicketTransitionResultDto> results = ticketService.assignAgentToTickets(ids, agentId);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @PutMapping("/batch/resolve")
+    public ResponseEntity<List<TicketTransitionResultDto>> resolveTickets(@RequestBody List<Long> ids) {
+        List<TicketTransitionResultDto> results = ticketService.resolveTickets(ids);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    @PutMapping("/batch/close")
+    public ResponseEntity<List<TicketTransitionResultDto>> closeTickets(@RequestBody List<Long> ids) {
+        List<TicketTransitionResultDto> results = ticketService.closeTickets(ids);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TicketDto> updateTicket(@PathVariable Long id, @RequestBody TicketDto updatedTicketDetails) {
         TicketDto updatedTicket = ticketService.updateTicket(id, updatedTicketDetails);
         return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
     }
 
+    /**
+     * Answers 304 Not Modified when the client holds the current version of the ticket, which is checked
+     * before the ticket is loaded. The ETag of a returned ticket is the version it was read at, with the
+     * generation of the agent directory, as renaming an agent changes the ticket without bumping its version.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TicketDto> getTicket(@PathVariable Long id) {
-        TicketDto ticketDto = ticketService.getTicketById(id);
+    public ResponseEntity<TicketDto> getTicket(@PathVariable Long id,
+                                               @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Read first: a rename while the ticket is read then only gives an ETag already out of date
+        long generation = agentDirectory.generation();
+        if (ifNoneMatch != null) {
+            String eTag = eTag(ticketService.getTicketVersion(id), generation);
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        VersionedTicketDto ticket = ticketService.getVersionedTicketById(id);
+        return ResponseEntity.ok().eTag(eTag(ticket.version(), generation)).body(ticket.ticket());
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<TicketEventDto>> getTicketHistory(@PathVariable Long id) {
+        List<TicketEventDto> history = ticketHistoryService.getTicketHistory(id);
+        return ResponseEntity.ok(history);
+    }
+
+    @GetMapping("/{id}/state")
+    public ResponseEntity<TicketDto> getTicketAsOf(@PathVariable Long id,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        TicketDto ticketDto = ticketHistoryService.getTicketAsOf(id, asOf);
         return ResponseEntity.ok(ticketDto);
     }
 
+    /**
+     * Answers 304 Not Modified when the client holds the current list, which is checked with one aggregate
+     * query before any ticket is loaded. The ETag of a returned list is computed from its own rows and the
+     * generation of the agent directory. Besides
+     * JSON, the list is written as CBOR or Smile on request (see {@link com.example.demo.config.BinaryFormatConfig}).
+     */
     @GetMapping
-    public ResponseEntity<List<TicketDto>> getTickets(TicketFilterDto ticketFilterDto) {
-        List<TicketDto> tickets = ticketService.getTickets(ticketFilterDto);
-        return ResponseEntity.ok(tickets);
+    public ResponseEntity<List<TicketDto>> getTickets(TicketFilterDto ticketFilterDto,
+                                                      @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long generation = agentDirectory.generation();
+        if (ifNoneMatch != null) {
+            String eTag = eTag(ticketService.getTicketsStamp(ticketFilterDto), generation);
+            if (matches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+
+        TicketListDto tickets = ticketService.getTicketList(ticketFilterDto);
+        return ResponseEntity.ok().eTag(eTag(tickets.stamp(), generation)).body(tickets.tickets());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TicketPageDto> getTicketsPage(TicketFilterDto ticketFilterDto,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedDate,
+                                                        @RequestParam(required = false) Long afterId,
+                                                        @RequestParam(defaultValue = "100") int size) {
+        TicketCursor after = afterCreatedDate != null && afterId != null ? new TicketCursor(afterCreatedDate, afterId) : null;
+        TicketPageDto page = ticketService.getTicketsPage(ticketFilterDto, after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TicketSearchPageDto> searchTickets(@RequestParam String q,
+                                                             TicketFilterDto ticketFilterDto,
+                                                             @RequestParam(required = false) Float afterScore,
+                                                             @RequestParam(required = false) Long afterId,
+                                                             @RequestParam(defaultValue = "100") int size) {
+        TicketSearchCursor after = afterScore != null && afterId != null ? new TicketSearchCursor(afterScore, afterId) : null;
+        TicketSearchPageDto page = ticketSearchService.searchTickets(q, ticketFilterDto, after, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<TicketStatsDto>> getTicketStats(TicketFilterDto ticketFilterDto,
+                                                               @RequestParam(required = false) List<TicketStatsGroupBy> groupBy) {
+        EnumSet<TicketStatsGroupBy> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(TicketStatsGroupBy.class)
+                : EnumSet.copyOf(groupBy);
+        List<TicketStatsDto> stats = ticketStatsService.getTicketStats(ticketFilterDto, dimensions);
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/counts")
+    public ResponseEntity<TicketCountsDto> getTicketCounts() {
+        return ResponseEntity.ok(ticketStatsService.getTicketCounts());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamTickets(TicketFilterDto ticketFilterDto, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+
+        ticketService.streamTickets(ticketFilterDto, ticketDto -> writeLine(outputStream, ticketDto));
+        outputStream.flush();
+    }
+
+    /**
+     * Pushes the ticket changes as server-sent events. A client resumes after the last event it received
+     * with the {@code Last-Event-ID} header or the {@code after} parameter.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(TicketFilterDto ticketFilterDto,
+                                    @RequestParam(required = false) Long after,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(0L); // Never times out, the heartbeats detect dead connections
+        TicketChangeFeed.Subscription subscription = ticketChangeService.subscribe(
+                ticketFilterDto, lastEventId != null ? lastEventId : after, new SseTicketChangeListener(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+
+    // Weak comparison, as for conditional GET requests
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        ETag current = ETag.create(eTag);
+        return ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    private static String eTag(long version, long agentGeneration) {
+        return version + "-" + Long.toHexString(agentGeneration);
+    }
+
+    private static String eTag(TicketListStampDto stamp, long agentGeneration) {
+        long lastModified = stamp.lastModifiedDate() != null
+                ? stamp.lastModifiedDate().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0;
+        return stamp.count() + "-" + Long.toHexString(lastModified) + "-" + stamp.versionSum()
+                + "-" + Long.toHexString(agentGeneration);
+    }
+
+    // An unreadable line is passed on as null so it is reported with the other rejected tickets
+    private TicketDto readLine(String line) {
+        try {
+            return objectMapper.readValue(line, TicketDto.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, TicketDto ticketDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(ticketDto));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
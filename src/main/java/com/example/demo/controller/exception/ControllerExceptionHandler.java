@@ -1,40 +1,86 @@
 package com.example.demo.controller.exception;
 
+import com.example.demo.dto.ProblemDto;
 import com.example.demo.exception.*;
+import com.example.demo.util.ErrorMessages;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the business errors to problem+json responses. The errors carry the fixed messages of
+ * {@link ErrorMessages}, so each response is built once per status and message, then reused: the
+ * entity, its headers and its body are immutable.
+ */
 @RestControllerAdvice
 public class ControllerExceptionHandler {
+
+    private final Map<HttpStatus, Map<String, ResponseEntity<ProblemDto>>> responses = new ConcurrentHashMap<>();
+
     @ExceptionHandler(InvalidTicketStateException.class)
-    public ResponseEntity<String> handleInvalidTicketState(InvalidTicketStateException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDto> handleInvalidTicketState(InvalidTicketStateException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(AgentNotFoundException.class)
-    public ResponseEntity<String> handleAgentNotFoundException(AgentNotFoundException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDto> handleAgentNotFoundException(AgentNotFoundException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(TicketNotFoundException.class)
-    public ResponseEntity<String> handleTicketNotFoundException(TicketNotFoundException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+    public ResponseEntity<ProblemDto> handleTicketNotFoundException(TicketNotFoundException ex) {
+        return problem(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
     @ExceptionHandler(MissingResolutionSummaryException.class)
-    public ResponseEntity<String> handleMissingResolutionSummaryException(MissingResolutionSummaryException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDto> handleMissingResolutionSummaryException(MissingResolutionSummaryException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(InvalidDateRangeException.class)
-    public ResponseEntity<String> handleInvalidDateRangeException(InvalidDateRangeException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDto> handleInvalidDateRangeException(InvalidDateRangeException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
     @ExceptionHandler(MissingDescriptionException.class)
-    public ResponseEntity<String> handleMissingDescriptionException(MissingDescriptionException ex) {
-        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDto> handleMissingDescriptionException(MissingDescriptionException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<ProblemDto> handleInvalidSearchQueryException(InvalidSearchQueryException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStatsGroupingException.class)
+    public ResponseEntity<ProblemDto> handleInvalidStatsGroupingException(InvalidStatsGroupingException ex) {
+        return problem(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDto> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return problem(HttpStatus.CONFLICT, ErrorMessages.TICKET_MODIFIED_CONCURRENTLY);
+    }
+
+    private ResponseEntity<ProblemDto> problem(HttpStatus status, String message) {
+        String code = ErrorMessages.codeOf(message);
+        if (code == null) {
+            // Not one of the fixed messages: built each time, so the cache cannot grow without bound
+            return response(status, message, null);
+        }
+        return responses.computeIfAbsent(status, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(message, key -> response(status, message, code));
+    }
+
+    private static ResponseEntity<ProblemDto> response(HttpStatus status, String message, String code) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(new ProblemDto(status.getReasonPhrase(), status.value(), message, code));
     }
 }
@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+/**
+ * Error response body, as application/problem+json (RFC 9457) with the default "about:blank" type.
+ *
+ * @param code Stable code of the error, from ErrorMessages; clients should match on it rather than on the detail.
+ */
+public record ProblemDto(String title,
+                         int status,
+                         String detail,
+                         String code) {
+}
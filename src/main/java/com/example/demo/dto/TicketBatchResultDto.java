@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public record TicketBatchResultDto(int received,
+                                   int created,
+                                   List<TicketBatchErrorDto> errors) {
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import com.example.demo.event.TicketEventType;
+
+/**
+ * A committed ticket change, as pushed to the change stream subscribers.
+ *
+ * @param sequence The position of the change in the stream, to resume from after a reconnection.
+ * @param type The lifecycle step of the change.
+ * @param ticket The ticket as saved.
+ */
+public record TicketChangeDto(long sequence, TicketEventType type, TicketDto ticket) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Status;
+
+import java.util.Map;
+
+/**
+ * Ticket counts per status, and per assigned agent keyed by agent ID, since several agents may share a name.
+ */
+public record TicketCountsDto(Map<Status, Long> byStatus, Map<Long, Long> byAssignedAgentId) {
+}
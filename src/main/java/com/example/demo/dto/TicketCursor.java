@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+public record TicketCursor(LocalDateTime createdDate,
+                           Long id) {
+}
@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import com.example.demo.event.TicketEventType;
+
+import java.time.LocalDateTime;
+
+public record TicketEventDto(long sequence,
+                             LocalDateTime timestamp,
+                             TicketEventType type,
+                             TicketDto ticket) {
+}
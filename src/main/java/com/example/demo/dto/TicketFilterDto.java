@@ -8,5 +8,5 @@ import java.util.List;
 public record TicketFilterDto(List<Status> status,
                               LocalDateTime startDate,
                               LocalDateTime endDate,
-                              String assignedAgent) {
+                              List<String> assignedAgent) {
 }
\ No newline at end of file
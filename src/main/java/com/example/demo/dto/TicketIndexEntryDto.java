@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a ticket the bitmap index is built from.
+ */
+public record TicketIndexEntryDto(Long id,
+                                  Status status,
+                                  LocalDateTime createdDate,
+                                  Long assignedAgentId) {
+}
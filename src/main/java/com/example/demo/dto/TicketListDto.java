@@ -0,0 +1,12 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * A list of tickets with its stamp, both from the same query.
+ *
+ * @param tickets The tickets.
+ * @param stamp The stamp of the tickets, as {@link TicketListStampDto} would be computed for them.
+ */
+public record TicketListDto(List<TicketDto> tickets, TicketListStampDto stamp) {
+}
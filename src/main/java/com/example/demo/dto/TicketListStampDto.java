@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary of a list of tickets that changes whenever the list does: a change to a ticket bumps its
+ * version and modification date, a ticket entering the list brings a newer modification date, and a
+ * ticket leaving it lowers the count.
+ *
+ * @param count The number of tickets.
+ * @param lastModifiedDate The latest modification date of the tickets, null if there are none.
+ * @param versionSum The sum of the ticket versions.
+ */
+public record TicketListStampDto(long count, LocalDateTime lastModifiedDate, long versionSum) {
+}
@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public record TicketPageDto(List<TicketDto> tickets,
+                            TicketCursor next) {
+}
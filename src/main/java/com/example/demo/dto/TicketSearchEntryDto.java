@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a ticket the search index is built from.
+ */
+public record TicketSearchEntryDto(Long id,
+                                   String description,
+                                   String resolutionSummary,
+                                   Status status,
+                                   LocalDateTime createdDate,
+                                   Long assignedAgentId) {
+}
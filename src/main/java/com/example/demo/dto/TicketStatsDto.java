@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ticket counts of one group. The dimensions the statistics are not grouped by are null, as are the
+ * status of the tickets without one and the agent of the unassigned tickets. The agents are grouped by ID,
+ * their name only labels the group. The resolution times (from creation to closing, in seconds) only
+ * cover the closed tickets of the group.
+ */
+public record TicketStatsDto(Status status,
+                             Long assignedAgentId,
+                             String assignedAgent,
+                             LocalDateTime bucket,
+                             long count,
+                             long closedCount,
+                             Double meanResolutionSeconds,
+                             Double p50ResolutionSeconds,
+                             Double p95ResolutionSeconds) {
+}
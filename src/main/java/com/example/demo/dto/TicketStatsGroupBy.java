@@ -0,0 +1,8 @@
+package com.example.demo.dto;
+
+/**
+ * Dimensions ticket statistics can be grouped by. HOUR and DAY bucket the tickets by creation date.
+ */
+public enum TicketStatsGroupBy {
+    STATUS, AGENT, HOUR, DAY
+}
@@ -0,0 +1,6 @@
+package com.example.demo.dto;
+
+public record TicketTransitionResultDto(Long ticketId,
+                                        TicketDto ticket,
+                                        String error) {
+}
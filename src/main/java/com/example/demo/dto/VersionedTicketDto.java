@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+/**
+ * A ticket with the version it was read at, so that an ETag and the body it stands for come from the
+ * same read.
+ *
+ * @param ticket The ticket.
+ * @param version The version of the ticket when it was read.
+ */
+public record VersionedTicketDto(TicketDto ticket, long version) {
+}
@@ -0,0 +1,47 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.model.Status;
+
+/**
+ * Published whenever a ticket is saved.
+ *
+ * @param ticket The ticket as saved.
+ * @param previous The ticket as it was before the change, or null if the ticket was just created.
+ * @param assignedAgentId The ID of the agent the saved ticket is assigned to, or null if none.
+ * @param previousAssignedAgentId The ID of the agent the ticket was assigned to before the change, or null.
+ */
+public record TicketChangedEvent(TicketDto ticket,
+                                 TicketDto previous,
+                                 Long assignedAgentId,
+                                 Long previousAssignedAgentId) {
+
+    /**
+     * A change of a ticket assigned to no agent, before and after it.
+     */
+    public TicketChangedEvent(TicketDto ticket, TicketDto previous) {
+        this(ticket, previous, null, null);
+    }
+
+    /**
+     * Tells which lifecycle step the change is, from the status before and after it.
+     */
+    public TicketEventType type() {
+        if (previous == null) {
+            return TicketEventType.CREATED;
+        }
+        if (previous.status() == ticket.status()) {
+            return TicketEventType.UPDATED;
+        }
+        if (ticket.status() == Status.IN_PROGRESS) {
+            return TicketEventType.ASSIGNED;
+        }
+        if (ticket.status() == Status.RESOLVED) {
+            return TicketEventType.RESOLVED;
+        }
+        if (ticket.status() == Status.CLOSED) {
+            return TicketEventType.CLOSED;
+        }
+        return TicketEventType.UPDATED;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.demo.event;
+
+public enum TicketEventType {
+    CREATED, ASSIGNED, RESOLVED, CLOSED, UPDATED
+}
@@ -1,6 +1,10 @@
 package com.example.demo.exception;
 
-public class AgentNotFoundException extends RuntimeException {
+import com.example.demo.util.ErrorMessages;
+
+public class AgentNotFoundException extends BusinessException {
+    public static final AgentNotFoundException INSTANCE = new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND);
+
     public AgentNotFoundException(String message) {
         super(message);
     }
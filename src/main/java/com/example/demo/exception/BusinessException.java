@@ -0,0 +1,25 @@
+package com.example.demo.exception;
+
+import com.example.demo.util.ErrorMessages;
+
+/**
+ * Expected failure of a request, answered with an error response rather than logged. No stack trace is
+ * captured, since nobody reads it, and the instances are immutable: the cause cannot be set afterwards and
+ * suppressed exceptions are dropped, so one instance can be thrown again and again.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    private final String code;
+
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+        this.code = ErrorMessages.codeOf(message);
+    }
+
+    /**
+     * The stable code of the message, from {@link ErrorMessages}, or null if the message has none.
+     */
+    public String getCode() {
+        return code;
+    }
+}
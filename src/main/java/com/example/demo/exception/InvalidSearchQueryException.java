@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class InvalidSearchQueryException extends BusinessException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
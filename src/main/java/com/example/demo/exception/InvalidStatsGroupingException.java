@@ -0,0 +1,7 @@
+package com.example.demo.exception;
+
+public class InvalidStatsGroupingException extends BusinessException {
+    public InvalidStatsGroupingException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.demo.exception;
 
-public class InvalidTicketStateException extends RuntimeException {
+public class InvalidTicketStateException extends BusinessException {
     public InvalidTicketStateException(String message) {
         super(message);
     }
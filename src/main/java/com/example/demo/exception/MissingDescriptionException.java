@@ -1,6 +1,6 @@
 package com.example.demo.exception;
 
-public class MissingDescriptionException extends RuntimeException {
+public class MissingDescriptionException extends BusinessException {
     public MissingDescriptionException(String message) {
         super(message);
     }
@@ -1,6 +1,6 @@
 package com.example.demo.exception;
 
-public class MissingResolutionSummaryException extends RuntimeException {
+public class MissingResolutionSummaryException extends BusinessException {
     public MissingResolutionSummaryException(String message) {
         super(message);
     }
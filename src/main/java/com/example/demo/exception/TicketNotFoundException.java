@@ -1,6 +1,10 @@
 package com.example.demo.exception;
 
-public class TicketNotFoundException extends RuntimeException {
+import com.example.demo.util.ErrorMessages;
+
+public class TicketNotFoundException extends BusinessException {
+    public static final TicketNotFoundException INSTANCE = new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND);
+
     public TicketNotFoundException(String message) {
         super(message);
     }
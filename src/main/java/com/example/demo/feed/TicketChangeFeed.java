@@ -0,0 +1,185 @@
+package com.example.demo.feed;
+
+import com.example.demo.dto.TicketChangeDto;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.event.TicketChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Fans the committed ticket changes out to subscribers. Changes are numbered in commit order, and the last
+ * {@code tickets.changes.retained} are kept so a subscriber can resume after the last change it received.
+ * <p>
+ * Each subscription has a bounded buffer drained by its own virtual thread, so publishing never waits for
+ * a subscriber. A subscriber whose buffer fills up is sent what it holds and then dropped; it resumes from
+ * its last change by subscribing again.
+ * <p>
+ * The numbering restarts with the process, and each node has its own.
+ */
+@Component
+public class TicketChangeFeed implements MeterBinder {
+
+    private record Change(TicketChangeDto change, TicketDto previous) {
+    }
+
+    private final Change[] retained;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong subscriptionCount = new AtomicLong();
+    private final LongAdder overflows = new LongAdder();
+
+    private final Object lock = new Object();
+    private long sequence; // Guarded by lock
+
+    public TicketChangeFeed(@Value("${tickets.changes.retained:10000}") int retained,
+                            @Value("${tickets.changes.subscriber-buffer:1000}") int bufferSize,
+                            @Value("${tickets.changes.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.retained = new Change[retained];
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        synchronized (lock) {
+            Change change = new Change(new TicketChangeDto(++sequence, event.type(), event.ticket()), event.previous());
+            retained[slot(sequence)] = change;
+            for (Subscription subscription : subscriptions) {
+                subscription.offer(change);
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the changes of the tickets matching the filter, before or after the change.
+     *
+     * @param filter Tells whether a ticket is of interest to the subscriber.
+     * @param after The sequence of the last change received, to get the retained changes since, or null for
+     *              the new changes only.
+     * @param listener Receives the changes, on the subscription thread.
+     * @return The subscription, to close once the subscriber is gone.
+     */
+    public Subscription subscribe(Predicate<TicketDto> filter, Long after, TicketChangeListener listener) {
+        Subscription subscription = new Subscription(filter, listener);
+        synchronized (lock) {
+            if (after != null) {
+                long oldest = Math.max(1, sequence - retained.length + 1);
+                subscription.gap = after < oldest - 1 || after > sequence;
+                for (long replayed = Math.max(after + 1, oldest); replayed <= sequence; replayed++) {
+                    subscription.offer(retained[slot(replayed)]);
+                }
+            }
+            if (!subscription.overflowed) {
+                subscriptions.add(subscription);
+            }
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.changes.subscribers", subscriptions, Set::size)
+                .description("Open ticket change stream subscriptions")
+                .register(registry);
+        FunctionCounter.builder("tickets.changes.overflows", overflows, LongAdder::sum)
+                .description("Subscriptions dropped because their buffer was full")
+                .register(registry);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % retained.length);
+    }
+
+    public final class Subscription implements AutoCloseable {
+
+        private final Predicate<TicketDto> filter;
+        private final TicketChangeListener listener;
+        private final BlockingQueue<Change> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private volatile Thread thread;
+        private boolean gap;
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+
+        private Subscription(Predicate<TicketDto> filter, TicketChangeListener listener) {
+            this.filter = filter;
+            this.listener = listener;
+        }
+
+        /**
+         * Stops the delivery of changes. The listener is then told the subscription ended.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+
+        private void offer(Change change) {
+            if (overflowed || !matches(change)) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                overflowed = true;
+                subscriptions.remove(this);
+                overflows.increment();
+            }
+        }
+
+        private boolean matches(Change change) {
+            return filter.test(change.change().ticket()) || change.previous() != null && filter.test(change.previous());
+        }
+
+        private void start() {
+            thread = Thread.ofVirtual().name("ticket-changes-" + subscriptionCount.incrementAndGet()).start(this::deliver);
+        }
+
+        private void deliver() {
+            try {
+                if (gap) {
+                    listener.onGap();
+                }
+                while (!closed) {
+                    // Once dropped, only what the buffer holds is left to deliver
+                    Change change = overflowed
+                            ? buffer.poll()
+                            : buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (change != null) {
+                        listener.onChange(change.change());
+                    } else if (overflowed) {
+                        break;
+                    } else {
+                        listener.onIdle();
+                    }
+                }
+            } catch (IOException e) {
+                // The subscriber is gone
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+                listener.onEnd();
+            }
+        }
+    }
+}
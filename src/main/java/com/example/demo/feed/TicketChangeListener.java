@@ -0,0 +1,29 @@
+package com.example.demo.feed;
+
+import com.example.demo.dto.TicketChangeDto;
+
+import java.io.IOException;
+
+/**
+ * Receives the changes of a {@link TicketChangeFeed} subscription, one call at a time on the subscription
+ * thread. An {@link IOException} ends the subscription.
+ */
+public interface TicketChangeListener {
+
+    /**
+     * Called first when the changes after the requested sequence are no longer retained, so some were missed.
+     */
+    void onGap() throws IOException;
+
+    void onChange(TicketChangeDto change) throws IOException;
+
+    /**
+     * Called when no change came for a heartbeat interval, so dead connections are noticed.
+     */
+    void onIdle() throws IOException;
+
+    /**
+     * Called last, once the subscription is closed or has fallen too far behind.
+     */
+    void onEnd();
+}
@@ -0,0 +1,207 @@
+package com.example.demo.index;
+
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.repository.TicketRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Node-local Bloom filter of the existing ticket IDs, so lookups of IDs that never existed fail without
+ * touching the database. The filter can only answer "absent" or "maybe": a maybe still goes to the
+ * database, and a maybe the database does not confirm counts as a false positive. An absent answer costs
+ * no query at all.
+ * <p>
+ * The filter is rebuilt from the database at startup and then periodically, sized for twice the rows found
+ * (at least {@code tickets.id-filter.expected-insertions}), which also drops the deleted IDs. Tickets created
+ * on this node are added as they commit. Those created by other nodes are added by a refresh every
+ * {@code tickets.id-filter.refresh-interval}, which reads the IDs of the tickets modified since
+ * {@code tickets.id-filter.modified-margin} before the previous refresh through the modification date index.
+ * Until then, a ticket another node just created is reported absent. Before the first rebuild, every ID is
+ * a maybe.
+ * <p>
+ * Agents have no filter: the agent directory holds every one of them.
+ */
+@Component
+public class ExistingIdFilter implements MeterBinder {
+
+    private record Snapshot(BloomFilter filter, LocalDateTime refreshedSince) {
+    }
+
+    private final TicketRepository ticketRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration modifiedMargin;
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder present = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by this; IDs added while a rebuild runs, replayed into its filter
+    private List<Long> pending;
+
+    public ExistingIdFilter(TicketRepository ticketRepository,
+                            @Value("${tickets.id-filter.expected-insertions:100000}") long expectedInsertions,
+                            @Value("${tickets.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${tickets.id-filter.modified-margin:PT1M}") Duration modifiedMargin) {
+        this.ticketRepository = ticketRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.modifiedMargin = modifiedMargin;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.id-filter.rebuild-interval:PT1H}",
+            initialDelayString = "${tickets.id-filter.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try (Stream<Long> ids = ticketRepository.streamIds()) {
+            rebuild(ticketRepository.count(), ids, startedAt);
+        }
+    }
+
+    /**
+     * Replaces the filter with one of the given IDs, read from the database after the given date.
+     */
+    public void rebuild(long count, Stream<Long> ids, LocalDateTime startedAt) {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            BloomFilter filter = BloomFilter.create(Math.max(expectedInsertions, 2 * count), falsePositiveRate);
+            ids.forEach(filter::put);
+
+            synchronized (this) {
+                for (long id : pending) {
+                    filter.put(id);
+                }
+                snapshot = new Snapshot(filter, startedAt.minus(modifiedMargin));
+            }
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    /**
+     * Adds the tickets created or changed since the previous refresh, whichever node wrote them.
+     */
+    @Scheduled(fixedDelayString = "${tickets.id-filter.refresh-interval:PT5S}",
+            initialDelayString = "${tickets.id-filter.refresh-interval:PT5S}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            refresh(ticketRepository.findIdsModifiedSince(current.refreshedSince()), startedAt);
+        }
+    }
+
+    /**
+     * Adds the given IDs, those of the tickets modified since the previous refresh, read after the given date.
+     */
+    public void refresh(Collection<Long> ids, LocalDateTime startedAt) {
+        ids.forEach(this::add);
+        synchronized (this) {
+            LocalDateTime since = startedAt.minus(modifiedMargin);
+            if (snapshot != null && since.isAfter(snapshot.refreshedSince())) {
+                snapshot = new Snapshot(snapshot.filter(), since);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.previous() == null && event.ticket().id() != null) {
+            add(event.ticket().id());
+        }
+    }
+
+    /**
+     * Returns false if no ticket has the ID, true if one may have it.
+     */
+    public boolean mayHaveTicket(Long id) {
+        Snapshot current = snapshot;
+        if (id == null || current == null) {
+            return true;
+        }
+        if (current.filter().mightContain(id)) {
+            present.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    /**
+     * Records that the database has no ticket with an ID {@link #mayHaveTicket} let through.
+     */
+    public void ticketNotFound(Long id) {
+        if (id != null && snapshot != null) {
+            falsePositives.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tickets.id-filter.lookups", absent, LongAdder::sum)
+                .description("ID lookups answered by the Bloom filter")
+                .tags("entity", "ticket", "result", "absent")
+                .register(registry);
+        FunctionCounter.builder("tickets.id-filter.lookups", present, LongAdder::sum)
+                .description("ID lookups answered by the Bloom filter")
+                .tags("entity", "ticket", "result", "maybe")
+                .register(registry);
+        FunctionCounter.builder("tickets.id-filter.false-positives", falsePositives, LongAdder::sum)
+                .description("IDs let through by the Bloom filter that the database did not find")
+                .tag("entity", "ticket")
+                .register(registry);
+        Gauge.builder("tickets.id-filter.expected-false-positive-rate", this, ExistingIdFilter::expectedFalsePositiveRate)
+                .description("False-positive rate of the Bloom filter given the bits set so far")
+                .tag("entity", "ticket")
+                .register(registry);
+        Gauge.builder("tickets.id-filter.size", this, ExistingIdFilter::sizeInBytes)
+                .description("Memory taken by the Bloom filter")
+                .tag("entity", "ticket")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private synchronized void add(long id) {
+        if (pending != null) {
+            pending.add(id);
+        }
+        if (snapshot != null) {
+            snapshot.filter().put(id);
+        }
+    }
+
+    private double expectedFalsePositiveRate() {
+        Snapshot current = snapshot;
+        return current != null ? current.filter().expectedFalsePositiveRate() : Double.NaN;
+    }
+
+    private double sizeInBytes() {
+        Snapshot current = snapshot;
+        return current != null ? current.filter().sizeInBytes() : 0;
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketIndexEntryDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import com.example.demo.repository.TicketRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Node-local compressed bitmaps of the ticket IDs per status, per assigned agent ID and per hour of
+ * creation. A filter on two criteria or more becomes an intersection of bitmaps, and the database is only
+ * asked for the resulting tickets by ID, plus the tickets modified since the bitmaps were built.
+ * <p>
+ * The bitmaps give candidates, a superset of the matching tickets: the hours at the edges of a date range
+ * are taken whole, and the database query applies every filter again. The bitmaps are rebuilt from the
+ * database at startup and then periodically. Whatever they may have missed since, tickets created or
+ * changed by other nodes whatever their ID, is covered by the modification date: every ticket modified
+ * since {@code tickets.bitmap-index.modified-margin} before the rebuild started is a candidate too. The
+ * margin must exceed the longest ticket transaction and the clock skew between nodes. Changes committed on
+ * this node are applied to the bitmaps as well, including those committing during a rebuild.
+ * <p>
+ * Ticket IDs must fit in an int. Until the first rebuild, or once a larger ID shows up, no candidate is
+ * returned and the queries go to the database alone.
+ */
+@Component
+public class TicketBitmapIndex implements MeterBinder {
+
+    private static final long SECONDS_PER_BUCKET = 3600;
+
+    /**
+     * The tickets that may match a filter: those with the given IDs, and those modified since the date.
+     */
+    public record Candidates(List<Long> ids, LocalDateTime modifiedSince) {
+    }
+
+    private final TicketRepository ticketRepository;
+    private final int maxCandidates;
+    private final Duration modifiedMargin;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder answered = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    // Guarded by lock
+    private Map<Status, RoaringBitmap> byStatus = new EnumMap<>(Status.class);
+    private Map<Long, RoaringBitmap> byAgent = new HashMap<>();
+    private NavigableMap<Long, RoaringBitmap> byHour = new TreeMap<>();
+    private LocalDateTime modifiedSince;
+    private boolean usable;
+    // Changes committed while a rebuild runs, replayed on its bitmaps
+    private List<TicketChangedEvent> pending;
+
+    public TicketBitmapIndex(TicketRepository ticketRepository,
+                             @Value("${tickets.bitmap-index.max-candidates:5000}") int maxCandidates,
+                             @Value("${tickets.bitmap-index.modified-margin:PT1M}") Duration modifiedMargin) {
+        this.ticketRepository = ticketRepository;
+        this.maxCandidates = maxCandidates;
+        this.modifiedMargin = modifiedMargin;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.bitmap-index.rebuild-interval:PT10M}",
+            initialDelayString = "${tickets.bitmap-index.rebuild-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try (Stream<TicketIndexEntryDto> tickets = ticketRepository.streamIndexEntries()) {
+            rebuild(tickets, startedAt);
+        }
+    }
+
+    /**
+     * Replaces the bitmaps with those of the given tickets, read from the database after the given date.
+     * The bitmaps are built aside, so the queries keep using the previous ones meanwhile.
+     */
+    public void rebuild(Stream<TicketIndexEntryDto> tickets, LocalDateTime startedAt) {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Map<Status, RoaringBitmap> statuses = new EnumMap<>(Status.class);
+            Map<Long, RoaringBitmap> agents = new HashMap<>();
+            NavigableMap<Long, RoaringBitmap> hours = new TreeMap<>();
+            boolean[] fits = {true};
+            tickets.forEach(ticket -> {
+                if (fits(ticket.id())) {
+                    int id = ticket.id().intValue();
+                    add(statuses, ticket.status(), id);
+                    add(agents, ticket.assignedAgentId(), id);
+                    add(hours, ticket.createdDate(), id);
+                } else {
+                    fits[0] = false;
+                }
+            });
+
+            Stream.of(statuses.values(), agents.values(), hours.values())
+                    .flatMap(Collection::stream)
+                    .forEach(RoaringBitmap::runOptimize);
+
+            lock.writeLock().lock();
+            try {
+                for (TicketChangedEvent event : pending) {
+                    fits[0] &= apply(statuses, hours, event);
+                }
+                byStatus = statuses;
+                byAgent = agents;
+                byHour = hours;
+                modifiedSince = startedAt.minus(modifiedMargin);
+                usable = fits[0];
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Moves the ticket between the status bitmaps. The agent bitmaps are only refreshed by the rebuilds,
+     * the modification date of the ticket covers it meanwhile.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            usable &= apply(byStatus, byHour, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the tickets that may match the filters, their IDs in ascending order, or null when the
+     * bitmaps cannot narrow the query down: fewer than two criteria, more candidates than
+     * {@code tickets.bitmap-index.max-candidates}, or no usable bitmaps.
+     */
+    public Candidates candidates(Collection<Status> statuses,
+                                 LocalDateTime startDate,
+                                 LocalDateTime endDate,
+                                 Collection<Long> assignedAgentIds) {
+        boolean byStatuses = statuses != null && !statuses.isEmpty();
+        boolean byAgents = assignedAgentIds != null && !assignedAgentIds.isEmpty();
+        boolean byDates = startDate != null || endDate != null;
+        if ((byStatuses ? 1 : 0) + (byAgents ? 1 : 0) + (byDates ? 1 : 0) < 2) {
+            return null;
+        }
+
+        RoaringBitmap matching;
+        LocalDateTime since;
+        lock.readLock().lock();
+        try {
+            if (!usable) {
+                skipped.increment();
+                return null;
+            }
+
+            List<RoaringBitmap> criteria = new ArrayList<>(3);
+            if (byStatuses) {
+                criteria.add(union(statuses.stream().map(byStatus::get)));
+            }
+            if (byAgents) {
+                criteria.add(union(assignedAgentIds.stream().map(byAgent::get)));
+            }
+            if (byDates) {
+                criteria.add(union(hours(startDate, endDate).values().stream()));
+            }
+            matching = FastAggregation.and(criteria.iterator());
+            since = modifiedSince;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (matching.getLongCardinality() > maxCandidates) {
+            skipped.increment();
+            return null;
+        }
+        answered.increment();
+
+        List<Long> ids = new ArrayList<>(matching.getCardinality());
+        matching.forEach((int id) -> ids.add((long) id));
+        return new Candidates(ids, since);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.bitmap-index.size", this, TicketBitmapIndex::sizeInBytes)
+                .description("Memory taken by the ticket bitmaps")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("tickets.bitmap-index.queries", answered, LongAdder::sum)
+                .description("Ticket queries narrowed down by the bitmaps")
+                .tag("result", "answered")
+                .register(registry);
+        FunctionCounter.builder("tickets.bitmap-index.queries", skipped, LongAdder::sum)
+                .description("Ticket queries narrowed down by the bitmaps")
+                .tag("result", "skipped")
+                .register(registry);
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return Stream.of(byStatus.values(), byAgent.values(), byHour.values())
+                    .flatMap(Collection::stream)
+                    .mapToLong(RoaringBitmap::getLongSizeInBytes)
+                    .sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<Long, RoaringBitmap> hours(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate == null) {
+            return byHour.headMap(bucket(endDate), true);
+        }
+        if (endDate == null) {
+            return byHour.tailMap(bucket(startDate), true);
+        }
+        if (endDate.isBefore(startDate)) {
+            return new TreeMap<>();
+        }
+        return byHour.subMap(bucket(startDate), true, bucket(endDate), true);
+    }
+
+    /**
+     * Moves the ticket of the event between the bitmaps, unless its ID does not fit in an int.
+     */
+    private static boolean apply(Map<Status, RoaringBitmap> statuses,
+                                 NavigableMap<Long, RoaringBitmap> hours,
+                                 TicketChangedEvent event) {
+        TicketDto ticket = event.ticket();
+        if (!fits(ticket.id())) {
+            return false;
+        }
+        int id = ticket.id().intValue();
+
+        TicketDto previous = event.previous();
+        if (previous != null) {
+            remove(statuses, previous.status(), id);
+            remove(hours, previous.createdDate() != null ? bucket(previous.createdDate()) : null, id);
+        }
+        add(statuses, ticket.status(), id);
+        add(hours, ticket.createdDate(), id);
+        return true;
+    }
+
+    private static <K> void add(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        if (key != null) {
+            bitmaps.computeIfAbsent(key, k -> new RoaringBitmap()).add(id);
+        }
+    }
+
+    private static void add(NavigableMap<Long, RoaringBitmap> hours, LocalDateTime createdDate, int id) {
+        if (createdDate != null) {
+            add(hours, bucket(createdDate), id);
+        }
+    }
+
+    private static <K> void remove(Map<K, RoaringBitmap> bitmaps, K key, int id) {
+        RoaringBitmap bitmap = key != null ? bitmaps.get(key) : null;
+        if (bitmap != null) {
+            bitmap.remove(id);
+        }
+    }
+
+    private static boolean fits(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+    private static RoaringBitmap union(Stream<RoaringBitmap> bitmaps) {
+        return FastAggregation.or(bitmaps.filter(Objects::nonNull).iterator());
+    }
+
+    private static long bucket(LocalDateTime date) {
+        return Math.floorDiv(date.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_BUCKET);
+    }
+}
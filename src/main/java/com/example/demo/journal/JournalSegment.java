@@ -0,0 +1,179 @@
+package com.example.demo.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped journal file holding consecutive records, named after the sequence of its first record.
+ * A record is its length, the CRC32C of its payload, then the payload; the length is written last, so a
+ * record is only visible once complete, and a zero length marks the end of the written data.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final String SUFFIX = ".journal";
+
+    private final long firstSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int recordCount;
+    private int position;
+    private int forcedPosition;
+
+    private JournalSegment(long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.firstSequence = firstSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens the segment for appending, creating it with the given size if needed. The records already there
+     * are kept; a torn record left by a crash is erased with everything after it.
+     */
+    static JournalSegment open(Path directory, long firstSequence, int size) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(firstSequence)),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        JournalSegment segment = new JournalSegment(firstSequence, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size())));
+
+        segment.position = scan(segment.buffer, (payload, position) -> segment.recordCount++);
+        if (segment.position + Integer.BYTES <= segment.buffer.capacity() && segment.buffer.getInt(segment.position) != 0) {
+            for (int i = segment.position; i < segment.buffer.capacity(); i++) {
+                segment.buffer.put(i, (byte) 0);
+            }
+        }
+        segment.forcedPosition = segment.position;
+        return segment;
+    }
+
+    /**
+     * Passes the payload of every complete record of the segment file to the consumer, in order.
+     */
+    static void read(Path file, Consumer<byte[]> consumer) throws IOException {
+        readPositions(file, (payload, position) -> consumer.accept(payload));
+    }
+
+    /**
+     * Same as {@link #read}, also passing the position of each record, for {@link #readAt}.
+     */
+    static void readPositions(Path file, ObjIntConsumer<byte[]> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), consumer);
+        }
+    }
+
+    /**
+     * Returns the payload of the complete record at the given position of the segment file.
+     */
+    static byte[] readAt(FileChannel channel, int position) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, position);
+        int length = header.getInt(0);
+        if (length <= 0) {
+            throw new IOException("No journal record at position " + position);
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(channel, payload, position + HEADER_SIZE);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array());
+        if ((int) crc.getValue() != header.getInt(Integer.BYTES)) {
+            throw new IOException("Corrupt journal record at position " + position);
+        }
+        return payload.array();
+    }
+
+    static String fileName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SUFFIX);
+    }
+
+    static boolean isSegment(Path file) {
+        return file.getFileName().toString().endsWith(SUFFIX) && Files.isRegularFile(file);
+    }
+
+    static long firstSequence(Path file) {
+        String fileName = file.getFileName().toString();
+        return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+    }
+
+    int position() {
+        return position;
+    }
+
+    long nextSequence() {
+        return firstSequence + recordCount;
+    }
+
+    /**
+     * Appends the record, unless the segment is too full to hold it.
+     */
+    boolean append(byte[] payload) {
+        if (HEADER_SIZE + payload.length > buffer.capacity() - position) {
+            return false;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position, payload.length);
+
+        position += HEADER_SIZE + payload.length;
+        recordCount++;
+        return true;
+    }
+
+    /**
+     * Writes the records appended since the last call to the storage device.
+     */
+    void force() {
+        if (position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static int scan(ByteBuffer buffer, ObjIntConsumer<byte[]> consumer) {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+
+            consumer.accept(payload, position);
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Journal record cut short at position " + position);
+            }
+        }
+    }
+}
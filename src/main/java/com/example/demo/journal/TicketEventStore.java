@@ -0,0 +1,126 @@
+package com.example.demo.journal;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event-sourced view of the tickets, active with {@code tickets.event-sourcing.enabled=true}: the journal is
+ * replayed at startup and followed afterwards, and each ticket is rebuilt from its own events. Every
+ * {@code tickets.event-sourcing.snapshot-interval} events of a ticket, its state is snapshotted, so
+ * rebuilding it at any point in time applies at most that many events.
+ * <p>
+ * Events are kept in memory, which is why this mode is optional.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.event-sourcing.enabled", havingValue = "true")
+public class TicketEventStore {
+
+    private final int snapshotInterval;
+    private final Map<Long, EventStream> streams = new ConcurrentHashMap<>();
+
+    public TicketEventStore(TicketJournal ticketJournal,
+                            @Value("${tickets.event-sourcing.snapshot-interval:16}") int snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+        ticketJournal.replayAndSubscribe(this::append);
+    }
+
+    /**
+     * Returns the states of the ticket after each of its events, oldest first.
+     */
+    public List<TicketEventDto> history(Long ticketId) {
+        EventStream stream = streams.get(ticketId);
+        return stream != null ? stream.history() : List.of();
+    }
+
+    /**
+     * Rebuilds the ticket as it was at the given time, or returns null if it did not exist yet.
+     */
+    public TicketDto stateAsOf(Long ticketId, LocalDateTime asOf) {
+        EventStream stream = streams.get(ticketId);
+        return stream != null ? stream.stateAsOf(asOf) : null;
+    }
+
+    void append(TicketEventDto event) {
+        streams.computeIfAbsent(event.ticket().id(), id -> new EventStream(snapshotInterval)).append(event);
+    }
+
+    private record Snapshot(int eventCount, LocalDateTime timestamp, TicketDto state) {
+    }
+
+    /**
+     * The events of one ticket, with a snapshot taken every {@code snapshotInterval} events.
+     * Timestamps never go backwards within a stream, even if the clock does, so snapshots can be
+     * binary searched.
+     */
+    private static final class EventStream {
+
+        private final int snapshotInterval;
+        private final List<TicketEventDto> events = new ArrayList<>();
+        private final List<Snapshot> snapshots = new ArrayList<>();
+        private TicketDto state;
+
+        EventStream(int snapshotInterval) {
+            this.snapshotInterval = snapshotInterval;
+        }
+
+        synchronized void append(TicketEventDto event) {
+            if (!events.isEmpty()) {
+                LocalDateTime last = events.get(events.size() - 1).timestamp();
+                if (event.timestamp().isBefore(last)) {
+                    event = new TicketEventDto(event.sequence(), last, event.type(), event.ticket());
+                }
+            }
+
+            events.add(event);
+            state = TicketEvents.apply(state, event);
+            if (events.size() % snapshotInterval == 0) {
+                snapshots.add(new Snapshot(events.size(), event.timestamp(), state));
+            }
+        }
+
+        synchronized List<TicketEventDto> history() {
+            List<TicketEventDto> history = new ArrayList<>(events.size());
+            TicketDto ticket = null;
+            for (TicketEventDto event : events) {
+                ticket = TicketEvents.apply(ticket, event);
+                history.add(new TicketEventDto(event.sequence(), event.timestamp(), event.type(), ticket));
+            }
+            return history;
+        }
+
+        synchronized TicketDto stateAsOf(LocalDateTime asOf) {
+            // Latest snapshot taken at or before asOf
+            int low = 0;
+            int high = snapshots.size() - 1;
+            Snapshot snapshot = null;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (snapshots.get(middle).timestamp().isAfter(asOf)) {
+                    high = middle - 1;
+                } else {
+                    snapshot = snapshots.get(middle);
+                    low = middle + 1;
+                }
+            }
+
+            TicketDto ticket = snapshot != null ? snapshot.state() : null;
+            for (int i = snapshot != null ? snapshot.eventCount() : 0; i < events.size(); i++) {
+                TicketEventDto event = events.get(i);
+                if (event.timestamp().isAfter(asOf)) {
+                    break;
+                }
+                ticket = TicketEvents.apply(ticket, event);
+            }
+            return ticket;
+        }
+    }
+}
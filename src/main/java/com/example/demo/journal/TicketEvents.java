@@ -0,0 +1,51 @@
+package com.example.demo.journal;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.event.TicketEventType;
+
+/**
+ * The fields each lifecycle event sets. The journal only records those, and a ticket is rebuilt by
+ * applying its events in order.
+ */
+public class TicketEvents {
+
+    private TicketEvents() {} // Prevents instantiation
+
+    /**
+     * Returns the part of the ticket the event sets; the other fields are null.
+     */
+    public static TicketDto changes(TicketEventType type, TicketDto ticket) {
+        return switch (type) {
+            case CREATED -> ticket;
+            case ASSIGNED -> new TicketDto(ticket.id(), null, ticket.status(), null, null, ticket.assignedAgent(), null);
+            case RESOLVED -> new TicketDto(ticket.id(), null, ticket.status(), null, null, null, null);
+            case CLOSED -> new TicketDto(ticket.id(), null, ticket.status(), null, ticket.closedDate(), null, null);
+            case UPDATED -> new TicketDto(ticket.id(), ticket.description(), null, null, null, null, ticket.resolutionSummary());
+        };
+    }
+
+    /**
+     * Returns the ticket once the event is applied to it.
+     *
+     * @param state The ticket before the event, null for a CREATED event. A ticket created before the
+     *              journal existed starts from the fields of its first event.
+     */
+    public static TicketDto apply(TicketDto state, TicketEventDto event) {
+        TicketDto changes = event.ticket();
+        if (state == null) {
+            return changes;
+        }
+        return switch (event.type()) {
+            case CREATED -> changes;
+            case ASSIGNED -> new TicketDto(state.id(), state.description(), changes.status(), state.createdDate(),
+                    state.closedDate(), changes.assignedAgent(), state.resolutionSummary());
+            case RESOLVED -> new TicketDto(state.id(), state.description(), changes.status(), state.createdDate(),
+                    state.closedDate(), state.assignedAgent(), state.resolutionSummary());
+            case CLOSED -> new TicketDto(state.id(), state.description(), changes.status(), state.createdDate(),
+                    changes.closedDate(), state.assignedAgent(), state.resolutionSummary());
+            case UPDATED -> new TicketDto(state.id(), changes.description(), state.status(), state.createdDate(),
+                    state.closedDate(), state.assignedAgent(), changes.resolutionSummary());
+        };
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.demo.journal;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.event.TicketEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of the ticket lifecycle events, written behind the requests: committed changes are
+ * queued, and a single writer thread appends them in batches to memory-mapped segment files, forcing each
+ * batch to disk once (group commit). A full queue blocks the committing threads until the writer catches up.
+ * <p>
+ * Entries are numbered from 1 in journal order, and the numbering resumes from the existing segments on
+ * restart. Entries still queued when the process dies are lost. Without {@code tickets.journal.directory},
+ * the journal goes to a new temporary directory, which suits the in-memory database.
+ * <p>
+ * Each entry only holds the fields its event sets (see {@link TicketEvents}).
+ * <p>
+ * The entries of one ticket are read through an index of where they are, built by the first such read and then
+ * kept up to date by the writer thread. It takes 8 bytes per entry, plus a map entry per ticket.
+ */
+@Component
+public class TicketJournal implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketJournal.class);
+
+    private record Pending(LocalDateTime timestamp, TicketEventType type, TicketDto ticket) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxBatchSize;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private final Object writeLock = new Object();
+    private final List<Consumer<TicketEventDto>> subscribers = new CopyOnWriteArrayList<>();
+
+    // Appended to by the writer thread only; a location is the index of the segment file here and a position
+    private final List<Path> segmentFiles = new CopyOnWriteArrayList<>();
+
+    // Guarded by writeLock once built; the arrays are replaced, never modified
+    private volatile Map<Long, long[]> locationsByTicket;
+
+    private JournalSegment segment;
+    private volatile boolean running = true;
+
+    public TicketJournal(@Value("${tickets.journal.directory:}") String directory,
+                         @Value("${tickets.journal.segment-size:64MB}") DataSize segmentSize,
+                         @Value("${tickets.journal.queue-capacity:10000}") int queueCapacity,
+                         @Value("${tickets.journal.max-batch-size:500}") int maxBatchSize,
+                         ObjectMapper objectMapper) {
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.maxBatchSize = maxBatchSize;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        try {
+            this.directory = directory.isBlank()
+                    ? Files.createTempDirectory("ticket-journal")
+                    : Files.createDirectories(Path.of(directory));
+            List<Path> segments = segments();
+            long firstSequence = segments.isEmpty() ? 1 : JournalSegment.firstSequence(segments.get(segments.size() - 1));
+            segment = JournalSegment.open(this.directory, firstSequence, this.segmentSize);
+            segmentFiles.addAll(segments());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        writer = Thread.ofPlatform().name("ticket-journal-writer").daemon().start(this::writeLoop);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) throws InterruptedException {
+        TicketEventType type = event.type();
+        queue.put(new Pending(LocalDateTime.now(), type, TicketEvents.changes(type, event.ticket())));
+    }
+
+    /**
+     * Passes every entry written so far to the consumer, in journal order.
+     */
+    public void replay(Consumer<TicketEventDto> consumer) {
+        try {
+            for (Path file : segments()) {
+                JournalSegment.read(file, payload -> consumer.accept(decode(payload)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Passes every entry of the ticket written so far to the consumer, in journal order, reading only those.
+     */
+    public void replay(Long ticketId, Consumer<TicketEventDto> consumer) {
+        long[] locations = locationsByTicket().get(ticketId);
+        if (locations == null) {
+            return;
+        }
+
+        int open = -1;
+        FileChannel channel = null;
+        try {
+            for (long location : locations) {
+                int file = (int) (location >>> 32);
+                if (file != open) {
+                    if (channel != null) {
+                        channel.close();
+                    }
+                    channel = FileChannel.open(segmentFiles.get(file), StandardOpenOption.READ);
+                    open = file;
+                }
+                consumer.accept(decode(JournalSegment.readAt(channel, (int) location)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Replays the journal to the consumer, then passes it every entry once written to disk, on the writer
+     * thread. No entry is missed or passed twice in between, since the writer waits for the replay.
+     */
+    public void replayAndSubscribe(Consumer<TicketEventDto> consumer) {
+        synchronized (writeLock) {
+            replay(consumer);
+            subscribers.add(consumer);
+        }
+    }
+
+    /**
+     * Stops accepting entries, writes those still queued and closes the current segment.
+     */
+    @Override
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        writer.join();
+        segment.close();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.journal.queue.size", queue, BlockingQueue::size)
+                .description("Ticket events waiting to be written to the journal")
+                .register(registry);
+        FunctionCounter.builder("tickets.journal.entries", written, LongAdder::sum)
+                .description("Ticket events written to the journal")
+                .register(registry);
+        FunctionCounter.builder("tickets.journal.batches", batches, LongAdder::sum)
+                .description("Batches forced to disk by the journal writer")
+                .register(registry);
+        FunctionCounter.builder("tickets.journal.failures", failures, LongAdder::sum)
+                .description("Ticket events the journal failed to write")
+                .register(registry);
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                failures.add(batch.size());
+                log.error("Could not write {} ticket events to the journal", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) throws IOException {
+        synchronized (writeLock) {
+            List<TicketEventDto> entries = new ArrayList<>(batch.size());
+            long[] locations = new long[batch.size()];
+            for (Pending pending : batch) {
+                TicketEventDto entry = new TicketEventDto(
+                        segment.nextSequence(), pending.timestamp(), pending.type(), pending.ticket());
+                byte[] payload = objectMapper.writeValueAsBytes(entry);
+                int position = segment.position();
+                if (!segment.append(payload)) {
+                    segment.close();
+                    long firstSequence = segment.nextSequence();
+                    segment = JournalSegment.open(directory, firstSequence, segmentSize);
+                    segmentFiles.add(directory.resolve(JournalSegment.fileName(firstSequence)));
+                    position = segment.position();
+                    if (!segment.append(payload)) {
+                        throw new IOException("Journal entry of " + payload.length + " bytes larger than a segment");
+                    }
+                }
+                locations[entries.size()] = location(segmentFiles.size() - 1, position);
+                entries.add(entry);
+            }
+            segment.force();
+            written.add(batch.size());
+            batches.increment();
+
+            if (locationsByTicket != null) {
+                for (int i = 0; i < entries.size(); i++) {
+                    index(locationsByTicket, entries.get(i), locations[i]);
+                }
+            }
+
+            for (Consumer<TicketEventDto> subscriber : subscribers) {
+                entries.forEach(subscriber);
+            }
+        }
+    }
+
+    private Map<Long, long[]> locationsByTicket() {
+        Map<Long, long[]> index = locationsByTicket;
+        if (index == null) {
+            synchronized (writeLock) {
+                if (locationsByTicket == null) {
+                    Map<Long, long[]> built = new ConcurrentHashMap<>();
+                    try {
+                        for (int file = 0; file < segmentFiles.size(); file++) {
+                            int segmentIndex = file;
+                            JournalSegment.readPositions(segmentFiles.get(file),
+                                    (payload, position) -> index(built, decode(payload), location(segmentIndex, position)));
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    locationsByTicket = built;
+                }
+                index = locationsByTicket;
+            }
+        }
+        return index;
+    }
+
+    private static void index(Map<Long, long[]> index, TicketEventDto entry, long location) {
+        index.compute(entry.ticket().id(), (id, locations) -> {
+            if (locations == null) {
+                return new long[]{location};
+            }
+            long[] appended = Arrays.copyOf(locations, locations.length + 1);
+            appended[locations.length] = location;
+            return appended;
+        });
+    }
+
+    private static long location(int segmentIndex, int position) {
+        return (long) segmentIndex << 32 | position;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Could not close a journal segment", e);
+            }
+        }
+    }
+
+    private TicketEventDto decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, TicketEventDto.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegment).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.metrics;
+
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketPageDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@link com.example.demo.service.TicketService} call as "tickets.service", tagged by method,
+ * outcome and exception class, and records the number of tickets returned by the searches as
+ * "tickets.search.results". Repository calls are timed by Spring Boot as "spring.data.repository.invocations".
+ * {@code getTicketList}, which serves the ticket list since it also returns the list stamp, is tagged as
+ * {@code getTickets} so that the dashboards and alerts on the list keep working.
+ * <p>
+ * Runs outside the transaction, so the time and the outcome include the commit. The meters are looked up
+ * once per (method, exception) and cached, keeping the cost per call to a clock read and a map lookup.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TicketServiceMetrics {
+
+    static final String SERVICE_TIMER = "tickets.service";
+    static final String SEARCH_RESULTS = "tickets.search.results";
+
+    private static final Map<String, String> METHOD_TAGS = Map.of("getTicketList", "getTickets");
+
+    private final MeterRegistry registry;
+    private final DistributionSummary searchResults;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<TimerKey, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    public TicketServiceMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.searchResults = DistributionSummary.builder(SEARCH_RESULTS)
+                .description("Tickets returned by a ticket search")
+                .baseUnit("tickets")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Around("execution(* com.example.demo.service.TicketService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getName();
+        String method = METHOD_TAGS.getOrDefault(name, name);
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            errorTimers.computeIfAbsent(new TimerKey(method, e.getClass()), this::errorTimer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+
+        successTimers.computeIfAbsent(method, this::successTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (result instanceof TicketPageDto page) {
+            searchResults.record(page.tickets().size());
+        } else if (result instanceof TicketListDto list) {
+            searchResults.record(list.tickets().size());
+        } else if (method.equals("getTickets") && result instanceof Collection<?> tickets) {
+            searchResults.record(tickets.size());
+        }
+        return result;
+    }
+
+    private Timer successTimer(String method) {
+        return timer(method, "success", "none");
+    }
+
+    private Timer errorTimer(TimerKey key) {
+        return timer(key.method(), "error", key.exception().getSimpleName());
+    }
+
+    private Timer timer(String method, String outcome, String exception) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Ticket service calls")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private record TimerKey(String method, Class<?> exception) {
+    }
+}
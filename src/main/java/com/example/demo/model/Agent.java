@@ -1,9 +1,16 @@
 package com.example.demo.model;
 
+import jakarta.persistence.*;
+
 import java.util.Objects;
 
+@Entity
+@Table(name = "agent")
+@EntityListeners(AgentChangeListener.class)
 public class Agent {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String name;
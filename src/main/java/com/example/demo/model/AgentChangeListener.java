@@ -0,0 +1,27 @@
+package com.example.demo.model;
+
+import com.example.demo.event.AgentChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes an {@link AgentChangedEvent} whenever an agent is inserted, updated or deleted,
+ * so the caches built from agents can be invalidated.
+ */
+public class AgentChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AgentChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onAgentChanged(Agent agent) {
+        eventPublisher.publishEvent(new AgentChangedEvent(agent.getId()));
+    }
+}
@@ -1,24 +1,51 @@
 package com.example.demo.model;
 
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@Entity
+@Table(name = "ticket", indexes = {
+        @Index(name = "idx_ticket_status_created_date", columnList = "status, created_date"),
+        @Index(name = "idx_ticket_created_date_id", columnList = "created_date, id"),
+        @Index(name = "idx_ticket_assigned_agent", columnList = "assigned_agent_id"),
+        @Index(name = "idx_ticket_last_modified_date", columnList = "last_modified_date")
+})
 public class Ticket {
 
+    // Pooled sequence so that batched inserts don't need a round trip per ID
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     private Long id;
 
     private String description;
 
+    @Enumerated(EnumType.STRING)
     private Status status;
 
+    // Never null, so the (createdDate, id) keyset cursor always has a position to seek past
+    @Column(nullable = false)
     private LocalDateTime createdDate;
 
     private LocalDateTime closedDate;
 
     private String resolutionSummary;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assigned_agent_id")
     private Agent assignedAgent;
 
+    // Every update is conditional on this version, so concurrent transitions cannot overwrite each other
+    @Version
+    private Long version;
+
+    // Set on every insert and update, so a list can tell its latest change without loading the tickets
+    @UpdateTimestamp
+    private LocalDateTime lastModifiedDate;
+
     public Ticket() {}
 
     public Ticket(Long id, String description, Status status, LocalDateTime createdDate) {
@@ -84,6 +111,22 @@ public class Ticket {
         this.assignedAgent = assignedAgent;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(LocalDateTime lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
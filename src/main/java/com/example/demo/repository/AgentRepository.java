@@ -2,6 +2,11 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Agent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface AgentRepository extends JpaRepository<Agent, Long> {
+    @Query("select a.id from Agent a where lower(a.name) = :name")
+    List<Long> findIdsByLowerCaseName(String name);
 }
@@ -1,15 +1,55 @@
 package com.example.demo.repository;
 
-import com.example.demo.model.Status;
+import com.example.demo.dto.TicketIndexEntryDto;
+import com.example.demo.dto.TicketSearchEntryDto;
 import com.example.demo.model.Ticket;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
-    List<Ticket> findWithFilters(List<Status> statuses,
-                           LocalDateTime startDate,
-                           LocalDateTime endDate,
-                           String assignedAgent);
+public interface TicketRepository extends JpaRepository<Ticket, Long>, JpaSpecificationExecutor<Ticket>, TicketViewRepository {
+    /**
+     * Loads the tickets with their assigned agents in one query, for the bulk transitions.
+     */
+    @Override
+    @EntityGraph(attributePaths = "assignedAgent")
+    List<Ticket> findAllById(Iterable<Long> ids);
+
+    /**
+     * Reads the version of a ticket alone, without loading it.
+     */
+    @Query("SELECT t.version FROM Ticket t WHERE t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Streams the ID of every ticket. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT t.id FROM Ticket t")
+    Stream<Long> streamIds();
+
+    /**
+     * Returns the IDs of the tickets created or changed since the date, through the modification date index.
+     */
+    @Query("SELECT t.id FROM Ticket t WHERE t.lastModifiedDate >= :since")
+    List<Long> findIdsModifiedSince(LocalDateTime since);
+
+    /**
+     * Streams the indexed columns of every ticket. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.example.demo.dto.TicketIndexEntryDto(t.id, t.status, t.createdDate, a.id) "
+            + "FROM Ticket t LEFT JOIN t.assignedAgent a")
+    Stream<TicketIndexEntryDto> streamIndexEntries();
+
+    /**
+     * Streams the searched columns of every ticket. Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("SELECT new com.example.demo.dto.TicketSearchEntryDto(t.id, t.description, t.resolutionSummary, t.status, "
+            + "t.createdDate, a.id) FROM Ticket t LEFT JOIN t.assignedAgent a")
+    Stream<TicketSearchEntryDto> streamSearchEntries();
 }
@@ -0,0 +1,64 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class TicketSpecifications {
+
+    private TicketSpecifications() {} // Prevents instantiation
+
+    /**
+     * Builds the ticket filter, only adding a predicate for each criterion that is present.
+     * The agents are given by ID, see {@link com.example.demo.service.AgentDirectory} to resolve names.
+     */
+    public static Specification<Ticket> withFilters(List<Status> statuses,
+                                                    LocalDateTime startDate,
+                                                    LocalDateTime endDate,
+                                                    Collection<Long> assignedAgentIds) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (statuses != null && !statuses.isEmpty()) {
+                predicates.add(root.get("status").in(statuses));
+            }
+            if (startDate != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("createdDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("createdDate"), endDate));
+            }
+            if (assignedAgentIds != null) {
+                // Compares the foreign key column, no join with the agent table
+                predicates.add(root.get("assignedAgent").get("id").in(assignedAgentIds));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Seeks past the given (createdDate, id) position, in the keyset order of the ticket queries: the creation
+     * date, with the ID as tie-breaker.
+     * A missing position matches every ticket, so the first page needs no cursor.
+     */
+    public static Specification<Ticket> after(LocalDateTime createdDate, Long id) {
+        return (root, query, criteriaBuilder) -> {
+            if (createdDate == null || id == null) {
+                return criteriaBuilder.conjunction();
+            }
+
+            return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("createdDate"), createdDate),
+                    criteriaBuilder.and(
+                            criteriaBuilder.equal(root.get("createdDate"), createdDate),
+                            criteriaBuilder.greaterThan(root.get("id"), id)));
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.model.Status;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates tickets in SQL: only one row per group leaves the database, no ticket is loaded.
+ */
+@Repository
+public class TicketStatsRepository {
+
+    private static final String RESOLUTION_SECONDS = "DATEDIFF('SECOND', t.created_date, t.closed_date)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public TicketStatsRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<TicketStatsDto> aggregate(List<Status> statuses,
+                                          LocalDateTime startDate,
+                                          LocalDateTime endDate,
+                                          Collection<Long> assignedAgentIds,
+                                          Set<TicketStatsGroupBy> groupBy) {
+        boolean byStatus = groupBy.contains(TicketStatsGroupBy.STATUS);
+        boolean byAgent = groupBy.contains(TicketStatsGroupBy.AGENT);
+        String bucket = groupBy.contains(TicketStatsGroupBy.HOUR) ? "DATE_TRUNC('HOUR', t.created_date)"
+                : groupBy.contains(TicketStatsGroupBy.DAY) ? "DATE_TRUNC('DAY', t.created_date)"
+                : null;
+
+        List<String> groups = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+        if (byStatus) {
+            groups.add("t.status");
+            columns.add("t.status AS status");
+        }
+        if (byAgent) {
+            groups.add("t.assigned_agent_id");
+            groups.add("a.name");
+            columns.add("t.assigned_agent_id AS agent_id");
+            columns.add("a.name AS agent");
+        }
+        if (bucket != null) {
+            groups.add(bucket);
+            columns.add(bucket + " AS bucket");
+        }
+        columns.add("COUNT(*) AS ticket_count");
+        columns.add("COUNT(t.closed_date) AS closed_count");
+        columns.add("AVG(CAST(" + RESOLUTION_SECONDS + " AS DOUBLE PRECISION)) AS mean_resolution");
+        columns.add("PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY " + RESOLUTION_SECONDS + ") AS p50_resolution");
+        columns.add("PERCENTILE_CONT(0.95) WITHIN GROUP (ORDER BY " + RESOLUTION_SECONDS + ") AS p95_resolution");
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource();
+        List<String> predicates = new ArrayList<>();
+        if (statuses != null && !statuses.isEmpty()) {
+            predicates.add("t.status IN (:statuses)");
+            parameters.addValue("statuses", statuses.stream().map(Status::name).toList());
+        }
+        if (startDate != null) {
+            predicates.add("t.created_date >= :startDate");
+            parameters.addValue("startDate", startDate);
+        }
+        if (endDate != null) {
+            predicates.add("t.created_date <= :endDate");
+            parameters.addValue("endDate", endDate);
+        }
+        if (assignedAgentIds != null) {
+            predicates.add("t.assigned_agent_id IN (:assignedAgentIds)");
+            parameters.addValue("assignedAgentIds", assignedAgentIds);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", columns)).append(" FROM ticket t");
+        if (byAgent) {
+            sql.append(" LEFT JOIN agent a ON a.id = t.assigned_agent_id");
+        }
+        if (!predicates.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        if (!groups.isEmpty()) {
+            sql.append(" GROUP BY ").append(String.join(", ", groups));
+            sql.append(" ORDER BY ").append(String.join(", ", groups));
+        }
+
+        return jdbcTemplate.query(sql.toString(), parameters, (resultSet, rowNum) -> new TicketStatsDto(
+                byStatus ? getStatus(resultSet) : null,
+                byAgent ? getLong(resultSet, "agent_id") : null,
+                byAgent ? resultSet.getString("agent") : null,
+                bucket != null ? resultSet.getObject("bucket", LocalDateTime.class) : null,
+                resultSet.getLong("ticket_count"),
+                resultSet.getLong("closed_count"),
+                getDouble(resultSet, "mean_resolution"),
+                getDouble(resultSet, "p50_resolution"),
+                getDouble(resultSet, "p95_resolution")));
+    }
+
+    /**
+     * Counts the tickets of each status. Tickets without a status are left out.
+     */
+    public Map<Status, Long> countByStatus() {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        jdbcTemplate.query("""
+                SELECT status, COUNT(*) AS ticket_count
+                FROM ticket
+                WHERE status IS NOT NULL
+                GROUP BY status
+                """, resultSet -> {
+            counts.put(Status.valueOf(resultSet.getString("status")), resultSet.getLong("ticket_count"));
+        });
+        return counts;
+    }
+
+    /**
+     * Counts the assigned tickets of each agent, by agent ID. Unassigned tickets are left out.
+     */
+    public Map<Long, Long> countByAgent() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT assigned_agent_id, COUNT(*) AS ticket_count
+                FROM ticket
+                WHERE assigned_agent_id IS NOT NULL
+                GROUP BY assigned_agent_id
+                """, resultSet -> {
+            counts.put(resultSet.getLong("assigned_agent_id"), resultSet.getLong("ticket_count"));
+        });
+        return counts;
+    }
+
+    private static Status getStatus(ResultSet resultSet) throws SQLException {
+        String status = resultSet.getString("status");
+        return status != null ? Status.valueOf(status) : null;
+    }
+
+    private static Long getLong(ResultSet resultSet, String column) throws SQLException {
+        long value = resultSet.getLong(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static Double getDouble(ResultSet resultSet, String column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+}
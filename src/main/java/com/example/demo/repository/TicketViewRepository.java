@@ -0,0 +1,92 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.model.Status;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read side of {@link TicketRepository}: the filtered queries selecting the TicketDto columns alone.
+ * No ticket or agent entity is hydrated, so nothing enters the persistence context or gets dirty-checked,
+ * and the agent name comes from a join instead of a lazy load. Within one result, equal agent names are
+ * the same String instance.
+ */
+public interface TicketViewRepository {
+    /**
+     * Returns the tickets matching the filters, by creation date then ID, with their stamp computed from the
+     * same rows. Only the criteria that are present become predicates, so each combination hits the
+     * (status, created_date), (created_date, id) or assigned agent index.
+     */
+    @Transactional(readOnly = true)
+    TicketListDto findViewListWithFilters(List<Status> statuses,
+                                          LocalDateTime startDate,
+                                          LocalDateTime endDate,
+                                          Collection<Long> assignedAgentIds);
+
+    /**
+     * Returns at most {@code limit} tickets matching the filters that come after the given
+     * (createdDate, id) position, by creation date then ID.
+     */
+    List<TicketDto> findViewPageWithFilters(List<Status> statuses,
+                                            LocalDateTime startDate,
+                                            LocalDateTime endDate,
+                                            Collection<Long> assignedAgentIds,
+                                            LocalDateTime afterCreatedDate,
+                                            Long afterId,
+                                            int limit);
+
+    /**
+     * Same as {@link #findViewPageWithFilters}, among the tickets with the given IDs or, when the date is not
+     * null, modified since then. Meant for a few thousand IDs at most, narrowed down beforehand.
+     */
+    @Transactional(readOnly = true)
+    List<TicketDto> findViewPageAmongIds(Collection<Long> ids,
+                                         LocalDateTime modifiedSince,
+                                         List<Status> statuses,
+                                         LocalDateTime startDate,
+                                         LocalDateTime endDate,
+                                         Collection<Long> assignedAgentIds,
+                                         LocalDateTime afterCreatedDate,
+                                         Long afterId,
+                                         int limit);
+
+    /**
+     * Same as {@link #findViewListWithFilters}, among the tickets of {@link #findViewPageAmongIds}.
+     */
+    @Transactional(readOnly = true)
+    TicketListDto findViewListAmongIds(Collection<Long> ids,
+                                       LocalDateTime modifiedSince,
+                                       List<Status> statuses,
+                                       LocalDateTime startDate,
+                                       LocalDateTime endDate,
+                                       Collection<Long> assignedAgentIds);
+
+    /**
+     * Streams the tickets of {@link #findViewListWithFilters}, without their stamp.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    Stream<TicketDto> streamViewsWithFilters(List<Status> statuses,
+                                             LocalDateTime startDate,
+                                             LocalDateTime endDate,
+                                             Collection<Long> assignedAgentIds);
+
+    /**
+     * Returns the tickets with the given IDs, in no particular order. Unknown IDs are ignored.
+     */
+    List<TicketDto> findViewsByIds(Collection<Long> ids);
+
+    /**
+     * Summarizes the tickets matching the filters in one aggregate row: their count, latest modification
+     * date and sum of versions.
+     */
+    TicketListStampDto findStampWithFilters(List<Status> statuses,
+                                            LocalDateTime startDate,
+                                            LocalDateTime endDate,
+                                            Collection<Long> assignedAgentIds);
+}
@@ -0,0 +1,248 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.model.Agent;
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static com.example.demo.repository.TicketSpecifications.after;
+import static com.example.demo.repository.TicketSpecifications.withFilters;
+
+class TicketViewRepositoryImpl implements TicketViewRepository {
+
+    // The order of query(), for the rows merged in memory: creation date, then ID
+    private static final Comparator<Object[]> KEYSET_ORDER = Comparator
+            .comparing((Object[] row) -> (LocalDateTime) row[3], Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(row -> (Long) row[0]);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public TicketListDto findViewListWithFilters(List<Status> statuses,
+                                                 LocalDateTime startDate,
+                                                 LocalDateTime endDate,
+                                                 Collection<Long> assignedAgentIds) {
+        try (Stream<Object[]> rows = query(withFilters(statuses, startDate, endDate, assignedAgentIds)).getResultStream()) {
+            return list(rows);
+        }
+    }
+
+    @Override
+    public List<TicketDto> findViewPageWithFilters(List<Status> statuses,
+                                                   LocalDateTime startDate,
+                                                   LocalDateTime endDate,
+                                                   Collection<Long> assignedAgentIds,
+                                                   LocalDateTime afterCreatedDate,
+                                                   Long afterId,
+                                                   int limit) {
+        return query(withFilters(statuses, startDate, endDate, assignedAgentIds).and(after(afterCreatedDate, afterId)))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(toView())
+                .toList();
+    }
+
+    @Override
+    public List<TicketDto> findViewPageAmongIds(Collection<Long> ids,
+                                                LocalDateTime modifiedSince,
+                                                List<Status> statuses,
+                                                LocalDateTime startDate,
+                                                LocalDateTime endDate,
+                                                Collection<Long> assignedAgentIds,
+                                                LocalDateTime afterCreatedDate,
+                                                Long afterId,
+                                                int limit) {
+        return amongIds(ids, modifiedSince,
+                withFilters(statuses, startDate, endDate, assignedAgentIds).and(after(afterCreatedDate, afterId)), limit)
+                .map(toView())
+                .toList();
+    }
+
+    @Override
+    public TicketListDto findViewListAmongIds(Collection<Long> ids,
+                                              LocalDateTime modifiedSince,
+                                              List<Status> statuses,
+                                              LocalDateTime startDate,
+                                              LocalDateTime endDate,
+                                              Collection<Long> assignedAgentIds) {
+        return list(amongIds(ids, modifiedSince, withFilters(statuses, startDate, endDate, assignedAgentIds), null));
+    }
+
+    @Override
+    public Stream<TicketDto> streamViewsWithFilters(List<Status> statuses,
+                                                    LocalDateTime startDate,
+                                                    LocalDateTime endDate,
+                                                    Collection<Long> assignedAgentIds) {
+        return query(withFilters(statuses, startDate, endDate, assignedAgentIds)).getResultStream()
+                .map(toView());
+    }
+
+    @Override
+    public List<TicketDto> findViewsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return query(withIds(ids)).getResultStream()
+                .map(toView())
+                .toList();
+    }
+
+    @Override
+    public TicketListStampDto findStampWithFilters(List<Status> statuses,
+                                                   LocalDateTime startDate,
+                                                   LocalDateTime endDate,
+                                                   Collection<Long> assignedAgentIds) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<Ticket> root = query.from(Ticket.class);
+
+        query.multiselect(
+                criteriaBuilder.count(root),
+                criteriaBuilder.greatest(root.<LocalDateTime>get("lastModifiedDate")),
+                criteriaBuilder.sum(root.<Long>get("version")));
+
+        Predicate predicate = withFilters(statuses, startDate, endDate, assignedAgentIds).toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        Object[] row = entityManager.createQuery(query).getSingleResult();
+        return new TicketListStampDto(
+                (Long) row[0],
+                (LocalDateTime) row[1],
+                row[2] != null ? (Long) row[2] : 0);
+    }
+
+    private static Specification<Ticket> withIds(Collection<Long> ids) {
+        return (root, query, criteriaBuilder) -> root.get("id").in(ids);
+    }
+
+    private static Specification<Ticket> withModifiedSince(LocalDateTime modifiedSince) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("lastModifiedDate"), modifiedSince);
+    }
+
+    /**
+     * Returns the rows matching the filters among the tickets with the given IDs or, when the date is not
+     * null, modified since then, in keyset order and without duplicates. The IDs and the modification date
+     * are queried apart, each through its own index, and merged here: in a single query, the OR of both
+     * would leave the database to scan the index of the filters.
+     *
+     * @param limit The maximum number of rows, or null for all of them.
+     */
+    private Stream<Object[]> amongIds(Collection<Long> ids,
+                                      LocalDateTime modifiedSince,
+                                      Specification<Ticket> filters,
+                                      Integer limit) {
+        Map<Long, Object[]> rows = new HashMap<>();
+        if (!ids.isEmpty()) {
+            rows(withIds(ids).and(filters), limit).forEach(row -> rows.put((Long) row[0], row));
+        }
+        if (modifiedSince != null) {
+            rows(withModifiedSince(modifiedSince).and(filters), limit).forEach(row -> rows.putIfAbsent((Long) row[0], row));
+        }
+
+        Stream<Object[]> sorted = rows.values().stream().sorted(KEYSET_ORDER);
+        return limit != null ? sorted.limit(limit) : sorted;
+    }
+
+    private List<Object[]> rows(Specification<Ticket> specification, Integer limit) {
+        TypedQuery<Object[]> query = query(specification);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Selects the TicketDto columns of the matching tickets, by creation date then ID (the keyset order).
+     */
+    private TypedQuery<Object[]> query(Specification<Ticket> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = criteriaBuilder.createQuery(Object[].class);
+        Root<Ticket> root = query.from(Ticket.class);
+        Join<Ticket, Agent> assignedAgent = root.join("assignedAgent", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("id"),
+                root.get("description"),
+                root.get("status"),
+                root.get("createdDate"),
+                root.get("closedDate"),
+                assignedAgent.get("name"),
+                root.get("resolutionSummary"),
+                root.get("version"),
+                root.get("lastModifiedDate"));
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(criteriaBuilder.asc(root.get("createdDate")), criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Maps the rows to TicketDto and computes their stamp on the way, as {@link #findStampWithFilters} would.
+     */
+    private static TicketListDto list(Stream<Object[]> rows) {
+        Function<Object[], TicketDto> toView = toView();
+        List<TicketDto> tickets = new ArrayList<>();
+        LocalDateTime lastModifiedDate = null;
+        long versionSum = 0;
+        Iterator<Object[]> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            Object[] row = iterator.next();
+            tickets.add(toView.apply(row));
+            if (row[7] != null) {
+                versionSum += (Long) row[7];
+            }
+            LocalDateTime modified = (LocalDateTime) row[8];
+            if (modified != null && (lastModifiedDate == null || modified.isAfter(lastModifiedDate))) {
+                lastModifiedDate = modified;
+            }
+        }
+        return new TicketListDto(Collections.unmodifiableList(tickets), new TicketListStampDto(tickets.size(), lastModifiedDate, versionSum));
+    }
+
+    /**
+     * Maps rows to TicketDto, interning the agent names in a map scoped to one result: a list of
+     * thousands of tickets then holds one String per agent, and the map dies with the query.
+     */
+    private static Function<Object[], TicketDto> toView() {
+        Map<String, String> agentNames = new HashMap<>();
+        return row -> new TicketDto(
+                (Long) row[0],
+                (String) row[1],
+                (Status) row[2],
+                (LocalDateTime) row[3],
+                (LocalDateTime) row[4],
+                row[5] != null ? agentNames.computeIfAbsent((String) row[5], Function.identity()) : null,
+                (String) row[6]);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketSearchEntryDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Lucene index of the ticket descriptions and resolution summaries, with the status, creation date and
+ * assigned agent ID as filters. It only answers which tickets match and how well (BM25); the tickets themselves
+ * are read from the database.
+ * <p>
+ * Changes are indexed once their transaction commits and become searchable at the next search.
+ * The index lives in memory, or under {@code tickets.search.index-path} when set, and is rebuilt from
+ * the database at startup.
+ */
+@Component
+public class TicketSearchIndex implements AutoCloseable {
+
+    private static final String KEY = "key";
+    private static final String ID = "id";
+    private static final String DESCRIPTION = "description";
+    private static final String RESOLUTION_SUMMARY = "resolutionSummary";
+    private static final String STATUS = "status";
+    private static final String AGENT_ID = "agentId";
+    private static final String CREATED_DATE = "createdDate";
+
+    /**
+     * A word in the description says more about the ticket than one in the resolution summary.
+     */
+    private static final float DESCRIPTION_BOOST = 2f;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Sort RELEVANCE_ORDER = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public TicketSearchIndex(@Value("${tickets.search.index-path:}") String indexPath) {
+        try {
+            directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record Hit(long ticketId, float score) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        TicketDto ticket = event.ticket();
+        index(new TicketSearchEntryDto(ticket.id(), ticket.description(), ticket.resolutionSummary(),
+                ticket.status(), ticket.createdDate(), event.assignedAgentId()));
+    }
+
+    public void index(TicketSearchEntryDto ticket) {
+        try {
+            writer.updateDocument(new Term(KEY, String.valueOf(ticket.id())), document(ticket));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the whole index with the given tickets. A ticket changing while the index is rebuilt may be
+     * overwritten by the older version read from the stream, until its next change.
+     */
+    public void rebuild(Stream<TicketSearchEntryDto> tickets) {
+        try {
+            writer.deleteAll();
+            tickets.forEach(this::index);
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the tickets containing every word of the text, best match first, then by ID. Filters that
+     * are null or empty are ignored.
+     *
+     * @param after The last hit of the previous page, or null for the first page.
+     */
+    public List<Hit> search(String text,
+                            List<Status> statuses,
+                            LocalDateTime startDate,
+                            LocalDateTime endDate,
+                            Collection<Long> assignedAgentIds,
+                            Hit after,
+                            int limit) {
+        Set<String> words = analyze(text);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String word : words) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(DESCRIPTION, word)), DESCRIPTION_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(RESOLUTION_SUMMARY, word)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            query.add(anyOf(STATUS, statuses.stream().map(Status::name).toList()), BooleanClause.Occur.FILTER);
+        }
+        if (assignedAgentIds != null && !assignedAgentIds.isEmpty()) {
+            query.add(LongPoint.newSetQuery(AGENT_ID, assignedAgentIds), BooleanClause.Occur.FILTER);
+        }
+        if (startDate != null || endDate != null) {
+            query.add(LongPoint.newRangeQuery(CREATED_DATE,
+                    startDate != null ? micros(startDate) : Long.MIN_VALUE,
+                    endDate != null ? micros(endDate) : Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int maxDoc = searcher.getIndexReader().maxDoc();
+                if (maxDoc == 0) {
+                    return List.of();
+                }
+                // The last doc ID of the reader: ties on (score, ID) cannot happen, so the sort fields alone
+                // place the cursor and the last hit itself is skipped
+                FieldDoc afterDoc = after != null
+                        ? new FieldDoc(maxDoc - 1, after.score(), new Object[]{after.score(), after.ticketId()})
+                        : null;
+                ScoreDoc[] scoreDocs = searcher.searchAfter(afterDoc, query.build(), limit, RELEVANCE_ORDER, true).scoreDocs;
+
+                List<Hit> hits = new ArrayList<>(scoreDocs.length);
+                for (ScoreDoc scoreDoc : scoreDocs) {
+                    hits.add(new Hit((Long) ((FieldDoc) scoreDoc).fields[1], scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Document document(TicketSearchEntryDto ticket) {
+        Document document = new Document();
+        document.add(new StringField(KEY, String.valueOf(ticket.id()), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, ticket.id()));
+        if (ticket.description() != null) {
+            document.add(new TextField(DESCRIPTION, ticket.description(), Field.Store.NO));
+        }
+        if (ticket.resolutionSummary() != null) {
+            document.add(new TextField(RESOLUTION_SUMMARY, ticket.resolutionSummary(), Field.Store.NO));
+        }
+        if (ticket.status() != null) {
+            document.add(new StringField(STATUS, ticket.status().name(), Field.Store.NO));
+        }
+        if (ticket.assignedAgentId() != null) {
+            document.add(new LongPoint(AGENT_ID, ticket.assignedAgentId()));
+        }
+        if (ticket.createdDate() != null) {
+            document.add(new LongPoint(CREATED_DATE, micros(ticket.createdDate())));
+        }
+        return document;
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        try (TokenStream tokens = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return words;
+    }
+
+    private static Query anyOf(String field, List<String> values) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        values.forEach(value -> query.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.SHOULD));
+        return query.build();
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AgentDirectory {
+    /**
+     * Resolves agent names to agent IDs, ignoring case.
+     *
+     * @param names The names of the agents.
+     * @return The IDs of every agent matching one of the names, empty if none matches.
+     */
+    List<Long> findIdsByNames(Collection<String> names);
+
+    /**
+     * Returns the name of the agent with the given ID, or null if the directory does not know it.
+     */
+    String findNameById(Long id);
+
+    /**
+     * Tells whether the directory knows an agent with the given ID. An unknown ID may still be an agent
+     * created too recently for the directory to know it.
+     */
+    boolean contains(Long id);
+
+    /**
+     * Identifies the agents the directory holds: changes whenever one of them is created, renamed or deleted,
+     * and is the same on every node holding the same agents. Lets a response showing agent names tell apart
+     * the versions of the directory it was built from.
+     */
+    long generation();
+}
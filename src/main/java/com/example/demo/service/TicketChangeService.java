@@ -0,0 +1,20 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.exception.*;
+import com.example.demo.feed.TicketChangeFeed;
+import com.example.demo.feed.TicketChangeListener;
+
+public interface TicketChangeService {
+    /**
+     * Subscribes to the changes of the tickets matching the filter criteria. A change is also sent when the
+     * ticket matched them before it, so the subscriber learns when a ticket leaves the filter.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @param after The sequence of the last change received, to resume from, or null for the new changes only.
+     * @param listener Receives the changes.
+     * @return The subscription, to close once the subscriber is gone.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    TicketChangeFeed.Subscription subscribe(TicketFilterDto ticketFilterDto, Long after, TicketChangeListener listener);
+}
@@ -0,0 +1,30 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.exception.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TicketHistoryService {
+    /**
+     * Rebuilds the history of a ticket from its lifecycle events. The journal is written behind the
+     * requests, so the latest changes may take a moment to appear.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The events of the ticket, oldest first, each with the state of the ticket after it;
+     * empty if the journal has none.
+     */
+    List<TicketEventDto> getTicketHistory(Long ticketId);
+
+    /**
+     * Rebuilds a ticket as it was at the given time from its lifecycle events.
+     *
+     * @param ticketId The ID of the ticket.
+     * @param asOf The point in time.
+     * @return The state of the ticket at that time.
+     * @throws TicketNotFoundException if the journal has no event of the ticket up to that time.
+     */
+    TicketDto getTicketAsOf(Long ticketId, LocalDateTime asOf);
+}
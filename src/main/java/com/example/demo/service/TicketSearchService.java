@@ -0,0 +1,22 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketSearchCursor;
+import com.example.demo.dto.TicketSearchPageDto;
+import com.example.demo.exception.*;
+
+public interface TicketSearchService {
+    /**
+     * Searches the ticket descriptions and resolution summaries for tickets containing every word of the
+     * query, best match first. The filter criteria narrow the search down.
+     *
+     * @param query The words to search for.
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @param after The cursor returned with the previous page, or null for the first page.
+     * @param size The maximum number of tickets in the page, capped at 1000.
+     * @return The page of tickets, with the cursor of the next page if there is one.
+     * @throws InvalidSearchQueryException if the query contains no word.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    TicketSearchPageDto searchTickets(String query, TicketFilterDto ticketFilterDto, TicketSearchCursor after, int size);
+}
@@ -1,14 +1,24 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketBatchResultDto;
+import com.example.demo.dto.TicketCursor;
 import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.dto.TicketPageDto;
+import com.example.demo.dto.TicketTransitionResultDto;
+import com.example.demo.dto.VersionedTicketDto;
 import com.example.demo.exception.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TicketService {
     /**
-     * Creates a new ticket.
+     * Creates a new ticket. Without a creation date, the ticket is dated now.
      *
      * @param ticketDto The data transfer object containing ticket information.
      * @return The created TicketDto.
@@ -16,6 +26,15 @@ public interface TicketService {
      */
     TicketDto createTicket(TicketDto ticketDto);
 
+    /**
+     * Creates many tickets, saving them in batches. Invalid tickets are reported and skipped, they don't stop the others.
+     * The tickets without a creation date are dated now.
+     *
+     * @param ticketDtos The tickets to create, consumed once. A null element stands for a ticket that could not be read.
+     * @return The number of tickets received and created, and the error of each rejected ticket by position.
+     */
+    TicketBatchResultDto createTickets(Stream<TicketDto> ticketDtos);
+
     /**
      * Assigns an agent to a ticket.
      *
@@ -25,6 +44,7 @@ public interface TicketService {
      * @throws AgentNotFoundException if the agent with the provided ID is not found.
      * @throws TicketNotFoundException if the ticket with the provided ID is not found.
      * @throws InvalidTicketStateException if the ticket is not in the 'NEW' state.
+     * @throws OptimisticLockingFailureException if the ticket was modified concurrently since it was read.
      */
     TicketDto assignAgentToTicket(Long ticketId, Long agentId);
 
@@ -35,6 +55,7 @@ public interface TicketService {
      * @return The updated TicketDto marked as resolved.
      * @throws TicketNotFoundException if the ticket with the provided ID is not found.
      * @throws InvalidTicketStateException if the ticket is not in the 'IN_PROGRESS' state.
+     * @throws OptimisticLockingFailureException if the ticket was modified concurrently since it was read.
      */
     TicketDto resolveTicket(Long ticketId);
 
@@ -46,9 +67,45 @@ public interface TicketService {
      * @throws TicketNotFoundException if the ticket with the provided ID is not found.
      * @throws MissingResolutionSummaryException if the ticket doesn't have a resolution summary when is closed.
      * @throws InvalidTicketStateException if the ticket is not in the 'RESOLVED' state.
+     * @throws OptimisticLockingFailureException if the ticket was modified concurrently since it was read.
      */
     TicketDto closeTicket(Long ticketId);
 
+    /**
+     * Assigns an agent to many tickets with the same rules as {@link #assignAgentToTicket}. The tickets are
+     * saved in a single transaction, unless another request changed some of them since they were read: each ticket
+     * is then assigned again on its own, and only those still changed concurrently are reported.
+     *
+     * @param ticketIds The IDs of the tickets to which the agent is to be assigned.
+     * @param agentId The ID of the agent to be assigned.
+     * @return The result of each ticket, in the order of the IDs: the updated TicketDto, or the reason it was not assigned,
+     *         such as a concurrent change.
+     * @throws AgentNotFoundException if the agent with the provided ID is not found.
+     */
+    List<TicketTransitionResultDto> assignAgentToTickets(List<Long> ticketIds, Long agentId);
+
+    /**
+     * Resolves many tickets with the same rules as {@link #resolveTicket}. The tickets are saved in a single
+     * transaction, unless another request changed some of them since they were read: each ticket is then resolved
+     * again on its own, and only those still changed concurrently are reported.
+     *
+     * @param ticketIds The IDs of the tickets to be resolved.
+     * @return The result of each ticket, in the order of the IDs: the updated TicketDto, or the reason it was not resolved,
+     *         such as a concurrent change.
+     */
+    List<TicketTransitionResultDto> resolveTickets(List<Long> ticketIds);
+
+    /**
+     * Closes many tickets with the same rules as {@link #closeTicket}. The tickets are saved in a single
+     * transaction, unless another request changed some of them since they were read: each ticket is then closed
+     * again on its own, and only those still changed concurrently are reported.
+     *
+     * @param ticketIds The IDs of the tickets to be closed.
+     * @return The result of each ticket, in the order of the IDs: the updated TicketDto, or the reason it was not closed,
+     *         such as a concurrent change.
+     */
+    List<TicketTransitionResultDto> closeTickets(List<Long> ticketIds);
+
     /**
      * Updates an existing ticket (only the description and the resolution summary).
      *
@@ -57,6 +114,7 @@ public interface TicketService {
      * @return The updated TicketDto.
      * @throws TicketNotFoundException if the ticket with the provided ID is not found.
      * @throws InvalidTicketStateException if the ticket is in the 'CLOSED' state and cannot be updated.
+     * @throws OptimisticLockingFailureException if the ticket was modified concurrently since it was read.
      */
     TicketDto updateTicket(Long ticketId, TicketDto ticketDto);
 
@@ -69,6 +127,24 @@ public interface TicketService {
      */
     TicketDto getTicketById(Long ticketId);
 
+    /**
+     * Retrieves a ticket by its ID, with the version it was read at.
+     *
+     * @param ticketId The ID of the ticket to retrieve.
+     * @return The ticket and its version, read together.
+     * @throws TicketNotFoundException if the ticket with the provided ID is not found.
+     */
+    VersionedTicketDto getVersionedTicketById(Long ticketId);
+
+    /**
+     * Reads the version of a ticket, which changes with every change to it, without loading the ticket.
+     *
+     * @param ticketId The ID of the ticket.
+     * @return The current version of the ticket.
+     * @throws TicketNotFoundException if the ticket with the provided ID is not found.
+     */
+    long getTicketVersion(Long ticketId);
+
     /**
      * Retrieves a list of tickets based on the provided filter criteria.
      *
@@ -77,4 +153,43 @@ public interface TicketService {
      * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
      */
     List<TicketDto> getTickets(TicketFilterDto ticketFilterDto);
+
+    /**
+     * Retrieves the tickets of {@link #getTickets} with their stamp, computed from the same rows.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @return The matching tickets and their stamp, equal to what {@link #getTicketsStamp} would return.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    TicketListDto getTicketList(TicketFilterDto ticketFilterDto);
+
+    /**
+     * Summarizes the tickets matching the filter criteria without loading them, to tell whether the list
+     * returned by {@link #getTickets} changed.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @return The count, latest modification date and sum of versions of the matching tickets.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    TicketListStampDto getTicketsStamp(TicketFilterDto ticketFilterDto);
+
+    /**
+     * Retrieves one page of tickets matching the filter criteria, using keyset pagination on the creation date and ID.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @param after The position of the last ticket of the previous page, or null for the first page.
+     * @param size The maximum number of tickets in the page.
+     * @return The page of TicketDto objects and the cursor of the next page (null if there are no more tickets).
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    TicketPageDto getTicketsPage(TicketFilterDto ticketFilterDto, TicketCursor after, int size);
+
+    /**
+     * Streams the tickets matching the filter criteria one by one, without loading the whole result.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @param consumer The consumer receiving each matching TicketDto, ordered by creation date and ID.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     */
+    void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer);
 }
@@ -0,0 +1,31 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.exception.*;
+
+import java.util.List;
+import java.util.Set;
+
+public interface TicketStatsService {
+    /**
+     * Counts the tickets matching the filter criteria and computes their resolution times, per group.
+     *
+     * @param ticketFilterDto The data transfer object containing filter criteria.
+     * @param groupBy The dimensions to group by; no dimension gives a single group with every matching ticket.
+     * @return The statistics of each group, ordered by the grouping dimensions.
+     * @throws InvalidDateRangeException if the end date in the filter criteria is earlier than the start date.
+     * @throws InvalidStatsGroupingException if the statistics are grouped by both HOUR and DAY.
+     */
+    List<TicketStatsDto> getTicketStats(TicketFilterDto ticketFilterDto, Set<TicketStatsGroupBy> groupBy);
+
+    /**
+     * Returns the number of tickets per status and per assigned agent ID, from in-memory counters.
+     * Unlike {@link #getTicketStats}, this never queries the database, so it is cheap enough to poll.
+     *
+     * @return The ticket counts.
+     */
+    TicketCountsDto getTicketCounts();
+}
@@ -0,0 +1,166 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.event.AgentChangedEvent;
+import com.example.demo.model.Agent;
+import com.example.demo.repository.AgentRepository;
+import com.example.demo.service.AgentDirectory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Every agent held in memory, as an immutable snapshot (ID to agent, lower-case name to IDs) that lookups
+ * read without locking. Each committed agent change copies the snapshot with that agent reloaded and
+ * swaps the copy in. The snapshot is loaded at startup, or by the first lookup if earlier, and checked
+ * against the database periodically, which also picks up the changes made by other nodes.
+ */
+@Service
+public class CachedAgentDirectory implements AgentDirectory, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CachedAgentDirectory.class);
+
+    private record Snapshot(Map<Long, Agent> agentsById, Map<String, List<Long>> idsByName, long generation) {
+
+        static Snapshot of(Collection<Agent> agents) {
+            Map<Long, Agent> agentsById = new HashMap<>();
+            Map<String, List<Long>> idsByName = new HashMap<>();
+            long generation = 0;
+            for (Agent agent : agents) {
+                // Summed, so the generation does not depend on the order the agents come in
+                generation += mix(agent.getId() * 31 + Objects.hashCode(agent.getName()));
+                // Copies, so the snapshot never shares an entity with a persistence context
+                agentsById.put(agent.getId(), new Agent(agent.getId(), agent.getName()));
+                if (agent.getName() != null) {
+                    idsByName.computeIfAbsent(normalize(agent.getName()), name -> new ArrayList<>()).add(agent.getId());
+                }
+            }
+            idsByName.replaceAll((name, ids) -> List.copyOf(ids));
+            return new Snapshot(Map.copyOf(agentsById), Map.copyOf(idsByName), generation);
+        }
+
+        // Finalizer of SplitMix64, spreading a small change of the input over every bit
+        private static long mix(long value) {
+            value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+            value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+            return value ^ (value >>> 31);
+        }
+    }
+
+    private final AgentRepository agentRepository;
+    private final LongAdder drifts = new LongAdder();
+
+    private volatile Snapshot snapshot;
+
+    public CachedAgentDirectory(AgentRepository agentRepository) {
+        this.agentRepository = agentRepository;
+    }
+
+    @Override
+    public List<Long> findIdsByNames(Collection<String> names) {
+        Map<String, List<Long>> idsByName = snapshot().idsByName();
+        return names.stream()
+                .map(CachedAgentDirectory::normalize)
+                .distinct()
+                .flatMap(name -> idsByName.getOrDefault(name, List.of()).stream())
+                .distinct()
+                .toList();
+    }
+
+    @Override
+    public String findNameById(Long id) {
+        Agent agent = id != null ? snapshot().agentsById().get(id) : null;
+        return agent != null ? agent.getName() : null;
+    }
+
+    @Override
+    public boolean contains(Long id) {
+        return id != null && snapshot().agentsById().containsKey(id);
+    }
+
+    @Override
+    public long generation() {
+        return snapshot().generation();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        snapshot = Snapshot.of(agentRepository.findAll());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAgentChanged(AgentChangedEvent event) {
+        if (snapshot == null) {
+            return; // Loaded in full by the first lookup
+        }
+        Map<Long, Agent> agentsById = new HashMap<>(snapshot.agentsById());
+        agentRepository.findById(event.agentId()).ifPresentOrElse(
+                agent -> agentsById.put(agent.getId(), agent),
+                () -> agentsById.remove(event.agentId()));
+        snapshot = Snapshot.of(agentsById.values());
+    }
+
+    /**
+     * Reloads every agent and swaps the snapshot if it drifted from the database, which should only happen
+     * with several nodes.
+     */
+    @Scheduled(fixedDelayString = "${tickets.agent-directory.check-interval:PT5M}",
+            initialDelayString = "${tickets.agent-directory.check-interval:PT5M}")
+    public synchronized void check() {
+        Snapshot loaded = Snapshot.of(agentRepository.findAll());
+        if (snapshot != null && !loaded.agentsById().equals(snapshot.agentsById())) {
+            drifts.increment();
+            log.warn("Agent directory drifted from the database: {} agents in memory, {} in the database",
+                    snapshot.agentsById().size(), loaded.agentsById().size());
+        }
+        snapshot = loaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tickets.agent-directory.size", this, CachedAgentDirectory::size)
+                .description("Agents held in memory by the agent directory")
+                .register(registry);
+        FunctionCounter.builder("tickets.agent-directory.drifts", drifts, LongAdder::sum)
+                .description("Consistency checks that found the agent directory out of date")
+                .register(registry);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private int size() {
+        Snapshot current = snapshot;
+        return current != null ? current.agentsById().size() : 0;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.exception.TicketNotFoundException;
+import com.example.demo.journal.TicketEventStore;
+import com.example.demo.service.TicketHistoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serves the history from the {@link TicketEventStore}, without reading the journal.
+ */
+@Service
+@ConditionalOnProperty(name = "tickets.event-sourcing.enabled", havingValue = "true")
+public class EventSourcedTicketHistoryService implements TicketHistoryService {
+    private final TicketEventStore ticketEventStore;
+
+    public EventSourcedTicketHistoryService(TicketEventStore ticketEventStore) {
+        this.ticketEventStore = ticketEventStore;
+    }
+
+    @Override
+    public List<TicketEventDto> getTicketHistory(Long ticketId) {
+        return ticketEventStore.history(ticketId);
+    }
+
+    @Override
+    public TicketDto getTicketAsOf(Long ticketId, LocalDateTime asOf) {
+        TicketDto ticket = ticketEventStore.stateAsOf(ticketId, asOf);
+        if (ticket == null) {
+            throw TicketNotFoundException.INSTANCE;
+        }
+        return ticket;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.feed.TicketChangeFeed;
+import com.example.demo.feed.TicketChangeListener;
+import com.example.demo.model.Status;
+import com.example.demo.service.TicketChangeService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Service
+public class TicketChangeServiceImpl implements TicketChangeService {
+    private final TicketChangeFeed ticketChangeFeed;
+
+    public TicketChangeServiceImpl(TicketChangeFeed ticketChangeFeed) {
+        this.ticketChangeFeed = ticketChangeFeed;
+    }
+
+    @Override
+    public TicketChangeFeed.Subscription subscribe(TicketFilterDto ticketFilterDto, Long after, TicketChangeListener listener) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+        return ticketChangeFeed.subscribe(matching(ticketFilterDto), after, listener);
+    }
+
+    // Same criteria as the ticket queries, checked against the ticket itself: a ticket without a creation
+    // date or agent matches no date range or agent name, as in SQL, and names match as in the agent directory
+    private static Predicate<TicketDto> matching(TicketFilterDto ticketFilterDto) {
+        List<Status> statuses = ticketFilterDto.status();
+        LocalDateTime startDate = ticketFilterDto.startDate();
+        LocalDateTime endDate = ticketFilterDto.endDate();
+        Set<String> agentNames = ticketFilterDto.assignedAgent() == null || ticketFilterDto.assignedAgent().isEmpty()
+                ? null
+                : ticketFilterDto.assignedAgent().stream()
+                        .map(TicketFilters::normalizeAgentName)
+                        .collect(Collectors.toUnmodifiableSet());
+
+        return ticket -> (statuses == null || statuses.isEmpty() || statuses.contains(ticket.status()))
+                && (startDate == null || ticket.createdDate() != null && !ticket.createdDate().isBefore(startDate))
+                && (endDate == null || ticket.createdDate() != null && !ticket.createdDate().isAfter(endDate))
+                && (agentNames == null || ticket.assignedAgent() != null
+                        && agentNames.contains(TicketFilters.normalizeAgentName(ticket.assignedAgent())));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.exception.InvalidDateRangeException;
+import com.example.demo.service.AgentDirectory;
+import com.example.demo.util.ErrorMessages;
+
+import java.util.List;
+import java.util.Locale;
+
+class TicketFilters {
+
+    private TicketFilters() {} // Prevents instantiation
+
+    static void validateDateRange(TicketFilterDto ticketFilterDto) {
+        if (ticketFilterDto.startDate() != null && ticketFilterDto.endDate() != null &&
+                ticketFilterDto.endDate().isBefore(ticketFilterDto.startDate())) {
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+    }
+
+    /**
+     * Returns null when the filter has no agent, or the IDs of the named agents (empty if none exists).
+     */
+    static List<Long> resolveAssignedAgentIds(TicketFilterDto ticketFilterDto, AgentDirectory agentDirectory) {
+        if (ticketFilterDto.assignedAgent() == null || ticketFilterDto.assignedAgent().isEmpty()) {
+            return null;
+        }
+        return agentDirectory.findIdsByNames(ticketFilterDto.assignedAgent());
+    }
+
+    /**
+     * Returns an equivalent filter in a canonical form, so equivalent filters are equal: statuses and agent
+     * names sorted without duplicates (names trimmed and lower-cased, as the agent directory matches them),
+     * empty lists as null. The dates are kept to the nanosecond: the normalized filter is also the one
+     * queried, so rounding them would drop or add the tickets created within the rounded fraction.
+     */
+    static TicketFilterDto normalize(TicketFilterDto ticketFilterDto) {
+        return new TicketFilterDto(
+                ticketFilterDto.status() == null || ticketFilterDto.status().isEmpty() ? null
+                        : ticketFilterDto.status().stream().distinct().sorted().toList(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent() == null || ticketFilterDto.assignedAgent().isEmpty() ? null
+                        : ticketFilterDto.assignedAgent().stream()
+                                .map(TicketFilters::normalizeAgentName)
+                                .distinct()
+                                .sorted()
+                                .toList());
+    }
+
+    /**
+     * Trims and lower-cases an agent name, as the agent directory matches them.
+     */
+    static String normalizeAgentName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
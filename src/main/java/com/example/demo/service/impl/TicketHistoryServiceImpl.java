@@ -0,0 +1,64 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.exception.TicketNotFoundException;
+import com.example.demo.journal.TicketEvents;
+import com.example.demo.journal.TicketJournal;
+import com.example.demo.service.TicketHistoryService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replays the journal entries of the requested ticket for each request, found through the journal's index
+ * rather than by reading every segment. See {@link EventSourcedTicketHistoryService} for the event-sourced mode.
+ */
+@Service
+@ConditionalOnProperty(name = "tickets.event-sourcing.enabled", havingValue = "false", matchIfMissing = true)
+public class TicketHistoryServiceImpl implements TicketHistoryService {
+    private final TicketJournal ticketJournal;
+
+    public TicketHistoryServiceImpl(TicketJournal ticketJournal) {
+        this.ticketJournal = ticketJournal;
+    }
+
+    @Override
+    public List<TicketEventDto> getTicketHistory(Long ticketId) {
+        List<TicketEventDto> history = new ArrayList<>();
+        TicketDto ticket = null;
+        for (TicketEventDto event : events(ticketId)) {
+            ticket = TicketEvents.apply(ticket, event);
+            history.add(new TicketEventDto(event.sequence(), event.timestamp(), event.type(), ticket));
+        }
+        return history;
+    }
+
+    @Override
+    public TicketDto getTicketAsOf(Long ticketId, LocalDateTime asOf) {
+        TicketDto ticket = null;
+        LocalDateTime last = null;
+        for (TicketEventDto event : events(ticketId)) {
+            // Timestamps are kept from going backwards, like in the event-sourced mode
+            last = last != null && event.timestamp().isBefore(last) ? last : event.timestamp();
+            if (last.isAfter(asOf)) {
+                break;
+            }
+            ticket = TicketEvents.apply(ticket, event);
+        }
+
+        if (ticket == null) {
+            throw TicketNotFoundException.INSTANCE;
+        }
+        return ticket;
+    }
+
+    private List<TicketEventDto> events(Long ticketId) {
+        List<TicketEventDto> events = new ArrayList<>();
+        ticketJournal.replay(ticketId, events::add);
+        return events;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketSearchEntryDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketSearchCursor;
+import com.example.demo.dto.TicketSearchPageDto;
+import com.example.demo.exception.InvalidSearchQueryException;
+import com.example.demo.repository.TicketRepository;
+import com.example.demo.search.TicketSearchIndex;
+import com.example.demo.service.AgentDirectory;
+import com.example.demo.service.TicketSearchService;
+import com.example.demo.util.ErrorMessages;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class TicketSearchServiceImpl implements TicketSearchService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketRepository ticketRepository;
+    private final AgentDirectory agentDirectory;
+
+    public TicketSearchServiceImpl(TicketSearchIndex ticketSearchIndex,
+                                   TicketRepository ticketRepository,
+                                   AgentDirectory agentDirectory) {
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.ticketRepository = ticketRepository;
+        this.agentDirectory = agentDirectory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        try (Stream<TicketSearchEntryDto> tickets = ticketRepository.streamSearchEntries()) {
+            ticketSearchIndex.rebuild(tickets);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketSearchPageDto searchTickets(String query, TicketFilterDto ticketFilterDto, TicketSearchCursor after, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException(ErrorMessages.SEARCH_QUERY_REQUIRED);
+        }
+        TicketFilters.validateDateRange(ticketFilterDto);
+
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return new TicketSearchPageDto(List.of(), null);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // One extra hit tells whether there is a next page
+        List<TicketSearchIndex.Hit> hits = ticketSearchIndex.search(
+                query,
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                assignedAgentIds,
+                after != null ? new TicketSearchIndex.Hit(after.id(), after.score()) : null,
+                pageSize + 1);
+
+        boolean hasNext = hits.size() > pageSize;
+        List<TicketSearchIndex.Hit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+
+        Map<Long, TicketDto> ticketsById = ticketRepository.findViewsByIds(
+                        pageHits.stream().map(TicketSearchIndex.Hit::ticketId).toList()).stream()
+                .collect(Collectors.toMap(TicketDto::id, Function.identity()));
+
+        List<TicketDto> tickets = new ArrayList<>(pageHits.size());
+        for (TicketSearchIndex.Hit hit : pageHits) {
+            TicketDto ticket = ticketsById.get(hit.ticketId());
+            if (ticket != null) {
+                tickets.add(ticket);
+            }
+        }
+
+        TicketSearchCursor next = null;
+        if (hasNext) {
+            TicketSearchIndex.Hit last = pageHits.get(pageHits.size() - 1);
+            next = new TicketSearchCursor(last.score(), last.ticketId());
+        }
+
+        return new TicketSearchPageDto(tickets, next);
+    }
+}
@@ -1,95 +1,277 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.cache.TicketCache;
+import com.example.demo.cache.TicketListCache;
+import com.example.demo.dto.TicketBatchErrorDto;
+import com.example.demo.dto.TicketBatchResultDto;
+import com.example.demo.dto.TicketCursor;
 import com.example.demo.dto.TicketDto;
 import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.dto.TicketPageDto;
+import com.example.demo.dto.TicketTransitionResultDto;
+import com.example.demo.dto.VersionedTicketDto;
+import com.example.demo.event.TicketChangedEvent;
 import com.example.demo.exception.*;
+import com.example.demo.index.ExistingIdFilter;
+import com.example.demo.index.TicketBitmapIndex;
 import com.example.demo.model.Agent;
 import com.example.demo.model.Status;
 import com.example.demo.model.Ticket;
 import com.example.demo.repository.AgentRepository;
 import com.example.demo.repository.TicketRepository;
+import com.example.demo.service.AgentDirectory;
 import com.example.demo.service.TicketService;
 import com.example.demo.util.ErrorMessages;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Service
 public class TicketServiceImpl implements TicketService {
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final TicketRepository ticketRepository;
     private final AgentRepository agentRepository;
-
-    public TicketServiceImpl(TicketRepository ticketRepository, AgentRepository agentRepository) {
+    private final AgentDirectory agentDirectory;
+    private final TicketCache ticketCache;
+    private final TicketListCache ticketListCache;
+    private final TicketBitmapIndex ticketBitmapIndex;
+    private final ExistingIdFilter existingIdFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+
+    public TicketServiceImpl(TicketRepository ticketRepository,
+                             AgentRepository agentRepository,
+                             AgentDirectory agentDirectory,
+                             TicketCache ticketCache,
+                             TicketListCache ticketListCache,
+                             TicketBitmapIndex ticketBitmapIndex,
+                             ExistingIdFilter existingIdFilter,
+                             ApplicationEventPublisher eventPublisher,
+                             TransactionOperations transactionOperations,
+                             @Value("${tickets.batch.size:500}") int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("tickets.batch.size must be positive: " + batchSize);
+        }
         this.ticketRepository = ticketRepository;
         this.agentRepository = agentRepository;
+        this.agentDirectory = agentDirectory;
+        this.ticketCache = ticketCache;
+        this.ticketListCache = ticketListCache;
+        this.ticketBitmapIndex = ticketBitmapIndex;
+        this.existingIdFilter = existingIdFilter;
+        this.eventPublisher = eventPublisher;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
     }
 
     @Override
     public TicketDto createTicket(TicketDto ticketDto) {
-        if (ticketDto.description() == null || ticketDto.description().isEmpty()) {
+        if (!hasDescription(ticketDto)) {
             throw new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED);
         }
 
-        Ticket newTicket = new Ticket();
-        newTicket.setDescription(ticketDto.description());
-        newTicket.setStatus(ticketDto.status());
-        newTicket.setCreatedDate(ticketDto.createdDate());
-
-        Ticket savedTicket = ticketRepository.save(newTicket);
+        Ticket savedTicket = ticketRepository.save(newTicket(ticketDto));
 
-        return convertToDto(savedTicket);
+        return publishChange(savedTicket, null);
     }
 
     @Override
-    public TicketDto assignAgentToTicket(Long ticketId, Long agentId) {
-        Ticket existingTicket = getTicket(ticketId);
+    public TicketBatchResultDto createTickets(Stream<TicketDto> ticketDtos) {
+        List<TicketBatchErrorDto> errors = new ArrayList<>();
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        int received = 0;
+        int created = 0;
+
+        Iterator<TicketDto> iterator = ticketDtos.iterator();
+        while (iterator.hasNext()) {
+            TicketDto ticketDto = iterator.next();
+            int index = received++;
+
+            if (ticketDto == null) {
+                errors.add(new TicketBatchErrorDto(index, ErrorMessages.INVALID_TICKET_FORMAT));
+            } else if (!hasDescription(ticketDto)) {
+                errors.add(new TicketBatchErrorDto(index, ErrorMessages.DESCRIPTION_REQUIRED));
+            } else {
+                batch.add(newTicket(ticketDto));
+                batchIndexes.add(index);
+            }
+
+            if (batch.size() == batchSize) {
+                created += saveBatch(batch, batchIndexes, errors);
+                batch = new ArrayList<>(batchSize);
+                batchIndexes = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            created += saveBatch(batch, batchIndexes, errors);
+        }
 
-        if (existingTicket.getStatus() != Status.NEW) {
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        return new TicketBatchResultDto(received, created, errors);
+    }
+
+    /**
+     * Saves one batch in its own transaction, so the persistence context never holds more than a batch
+     * and the inserts are sent as JDBC batches. A failing batch is reported against each of its items.
+     */
+    private int saveBatch(List<Ticket> batch, List<Integer> batchIndexes, List<TicketBatchErrorDto> errors) {
+        try {
+            ticketRepository.saveAll(batch).forEach(ticket -> publishChange(ticket, null));
+            return batch.size();
+        } catch (DataAccessException e) {
+            batchIndexes.forEach(index -> errors.add(new TicketBatchErrorDto(index, ErrorMessages.TICKET_NOT_SAVED)));
+            return 0;
         }
+    }
 
-        Agent assignedAgent = agentRepository.findById(agentId)
-                .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+    @Override
+    @Transactional
+    public TicketDto assignAgentToTicket(Long ticketId, Long agentId) {
+        Ticket existingTicket = getTicket(ticketId);
+        PreviousTicket previousTicket = previous(existingTicket);
 
-        existingTicket.setStatus(Status.IN_PROGRESS);
-        existingTicket.setAssignedAgent(assignedAgent);
+        validateTicketBeforeAssigning(existingTicket);
+        assign(existingTicket, getAgent(agentId));
 
         Ticket savedTicket = ticketRepository.save(existingTicket);
 
-        return convertToDto(savedTicket);
+        return publishChange(savedTicket, previousTicket);
     }
 
     @Override
+    @Transactional
     public TicketDto resolveTicket(Long ticketId) {
         Ticket existingTicket = getTicket(ticketId);
+        PreviousTicket previousTicket = previous(existingTicket);
 
-        if (existingTicket.getStatus() != Status.IN_PROGRESS) {
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED);
-        }
-
-        existingTicket.setStatus(Status.RESOLVED);
+        resolve(existingTicket);
         Ticket updatedTicket = ticketRepository.save(existingTicket);
 
-        return convertToDto(updatedTicket);
+        return publishChange(updatedTicket, previousTicket);
     }
 
     @Override
+    @Transactional
     public TicketDto closeTicket(Long ticketId) {
         Ticket existingTicket = getTicket(ticketId);
+        PreviousTicket previousTicket = previous(existingTicket);
 
-        validateTicketBeforeClosing(existingTicket);
-
-        existingTicket.setStatus(Status.CLOSED);
-        existingTicket.setClosedDate(LocalDateTime.now());
+        close(existingTicket);
         Ticket updatedTicket = ticketRepository.save(existingTicket);
 
-        return convertToDto(updatedTicket);
+        return publishChange(updatedTicket, previousTicket);
     }
 
     @Override
+    public List<TicketTransitionResultDto> assignAgentToTickets(List<Long> ticketIds, Long agentId) {
+        Agent assignedAgent = getAgent(agentId);
+
+        return transitionTickets(ticketIds, ticket -> {
+            validateTicketBeforeAssigning(ticket);
+            assign(ticket, assignedAgent);
+        });
+    }
+
+    @Override
+    public List<TicketTransitionResultDto> resolveTickets(List<Long> ticketIds) {
+        return transitionTickets(ticketIds, TicketServiceImpl::resolve);
+    }
+
+    @Override
+    public List<TicketTransitionResultDto> closeTickets(List<Long> ticketIds) {
+        return transitionTickets(ticketIds, TicketServiceImpl::close);
+    }
+
+    /**
+     * Transitions the tickets in one transaction. If another request changed one of them since it was read,
+     * that transaction rolls back and each ticket is read and transitioned again in its own transaction, so
+     * that only the tickets still changed concurrently are reported and left untouched.
+     */
+    private List<TicketTransitionResultDto> transitionTickets(List<Long> ticketIds, Consumer<Ticket> transition) {
+        try {
+            return transactionOperations.execute(status -> transitionAll(ticketIds, transition));
+        } catch (OptimisticLockingFailureException e) {
+            return new LinkedHashSet<>(ticketIds).stream()
+                    .map(ticketId -> transitionOne(ticketId, transition))
+                    .toList();
+        }
+    }
+
+    private TicketTransitionResultDto transitionOne(Long ticketId, Consumer<Ticket> transition) {
+        try {
+            return transactionOperations.execute(status -> transitionAll(List.of(ticketId), transition).get(0));
+        } catch (OptimisticLockingFailureException e) {
+            return new TicketTransitionResultDto(ticketId, null, ErrorMessages.TICKET_MODIFIED_CONCURRENTLY);
+        }
+    }
+
+    /**
+     * Loads the tickets in one query and applies the transition to each of them. A ticket that is missing
+     * or in the wrong state is reported and left untouched; the others are saved together.
+     */
+    private List<TicketTransitionResultDto> transitionAll(List<Long> ticketIds, Consumer<Ticket> transition) {
+        Map<Long, Ticket> ticketsById = ticketRepository.findAllById(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        List<TicketTransitionResultDto> results = new ArrayList<>(ticketIds.size());
+        List<Ticket> transitionedTickets = new ArrayList<>(ticketsById.size());
+        List<PreviousTicket> previousTickets = new ArrayList<>(ticketsById.size());
+        for (Long ticketId : new LinkedHashSet<>(ticketIds)) {
+            Ticket ticket = ticketsById.get(ticketId);
+            if (ticket == null) {
+                results.add(new TicketTransitionResultDto(ticketId, null, ErrorMessages.TICKET_NOT_FOUND));
+                continue;
+            }
+
+            PreviousTicket previousTicket = previous(ticket);
+            try {
+                transition.accept(ticket);
+                transitionedTickets.add(ticket);
+                previousTickets.add(previousTicket);
+                results.add(null); // Filled once saved
+            } catch (InvalidTicketStateException | MissingResolutionSummaryException e) {
+                results.add(new TicketTransitionResultDto(ticketId, null, e.getMessage()));
+            }
+        }
+
+        Iterator<Ticket> savedTickets = ticketRepository.saveAll(transitionedTickets).iterator();
+        Iterator<PreviousTicket> previous = previousTickets.iterator();
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Ticket savedTicket = savedTickets.next();
+                TicketDto ticketDto = publishChange(savedTicket, previous.next());
+                results.set(i, new TicketTransitionResultDto(savedTicket.getId(), ticketDto, null));
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    @Transactional
     public TicketDto updateTicket(Long ticketId, TicketDto ticketDto) {
         Ticket existingTicket = getTicket(ticketId);
+        PreviousTicket previousTicket = previous(existingTicket);
 
         if (existingTicket.getStatus() == Status.CLOSED) {
             throw new InvalidTicketStateException(ErrorMessages.CLOSED_TICKETS_CANNOT_BE_UPDATED);
@@ -99,40 +281,217 @@ public class TicketServiceImpl implements TicketService {
         existingTicket.setResolutionSummary(ticketDto.resolutionSummary());
         Ticket updatedTicket = ticketRepository.save(existingTicket);
 
-        return convertToDto(updatedTicket);
+        return publishChange(updatedTicket, previousTicket);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TicketDto getTicketById(Long ticketId) {
-        Ticket existingTicket = getTicket(ticketId);
+        return getVersionedTicketById(ticketId).ticket();
+    }
 
-        return convertToDto(existingTicket);
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedTicketDto getVersionedTicketById(Long ticketId) {
+        return ticketCache.get(ticketId, id -> {
+            Ticket ticket = getTicket(id);
+            return new VersionedTicketDto(convertToDto(ticket), ticket.getVersion() != null ? ticket.getVersion() : 0);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long getTicketVersion(Long ticketId) {
+        if (!existingIdFilter.mayHaveTicket(ticketId)) {
+            throw TicketNotFoundException.INSTANCE;
+        }
+        return ticketRepository.findVersionById(ticketId)
+                .orElseThrow(() -> TicketNotFoundException.INSTANCE);
     }
 
     @Override
     public List<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
-        if (ticketFilterDto.startDate() != null && ticketFilterDto.endDate() != null &&
-                ticketFilterDto.endDate().isBefore(ticketFilterDto.startDate())) {
-            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        return getTicketList(ticketFilterDto).tickets();
+    }
+
+    /**
+     * Not transactional, so requests waiting for an identical query hold no connection; the query has its
+     * own read-only transaction.
+     */
+    @Override
+    public TicketListDto getTicketList(TicketFilterDto ticketFilterDto) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+
+        return ticketListCache.get(TicketFilters.normalize(ticketFilterDto), this::findTickets);
+    }
+
+    private TicketListDto findTickets(TicketFilterDto ticketFilterDto) {
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return new TicketListDto(List.of(), new TicketListStampDto(0, null, 0));
+        }
+
+        TicketBitmapIndex.Candidates candidates = candidates(ticketFilterDto, assignedAgentIds);
+        if (candidates != null) {
+            return ticketRepository.findViewListAmongIds(
+                    candidates.ids(),
+                    candidates.modifiedSince(),
+                    ticketFilterDto.status(),
+                    ticketFilterDto.startDate(),
+                    ticketFilterDto.endDate(),
+                    assignedAgentIds);
         }
 
-        List<Ticket> filteredTickets = ticketRepository.findWithFilters(
+        return ticketRepository.findViewListWithFilters(
                 ticketFilterDto.status(),
                 ticketFilterDto.startDate(),
                 ticketFilterDto.endDate(),
-                ticketFilterDto.assignedAgent());
+                assignedAgentIds);
+    }
 
-        return filteredTickets.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * Narrows a multi-criteria filter down to candidate tickets with the bitmap index, or returns null
+     * when the database is better off alone. The database query still applies every filter.
+     */
+    private TicketBitmapIndex.Candidates candidates(TicketFilterDto ticketFilterDto, List<Long> assignedAgentIds) {
+        return ticketBitmapIndex.candidates(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                assignedAgentIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketListStampDto getTicketsStamp(TicketFilterDto ticketFilterDto) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return new TicketListStampDto(0, null, 0);
+        }
+
+        return ticketRepository.findStampWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                assignedAgentIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TicketPageDto getTicketsPage(TicketFilterDto ticketFilterDto, TicketCursor after, int size) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return new TicketPageDto(List.of(), null);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // One extra row tells whether there is a next page without a count query
+        TicketBitmapIndex.Candidates candidates = candidates(ticketFilterDto, assignedAgentIds);
+        List<TicketDto> tickets = candidates != null
+                ? ticketRepository.findViewPageAmongIds(
+                        candidates.ids(),
+                        candidates.modifiedSince(),
+                        ticketFilterDto.status(),
+                        ticketFilterDto.startDate(),
+                        ticketFilterDto.endDate(),
+                        assignedAgentIds,
+                        after != null ? after.createdDate() : null,
+                        after != null ? after.id() : null,
+                        pageSize + 1)
+                : ticketRepository.findViewPageWithFilters(
+                        ticketFilterDto.status(),
+                        ticketFilterDto.startDate(),
+                        ticketFilterDto.endDate(),
+                        assignedAgentIds,
+                        after != null ? after.createdDate() : null,
+                        after != null ? after.id() : null,
+                        pageSize + 1);
+
+        boolean hasNext = tickets.size() > pageSize;
+        List<TicketDto> page = hasNext ? tickets.subList(0, pageSize) : tickets;
+
+        TicketCursor next = null;
+        if (hasNext) {
+            TicketDto last = page.get(page.size() - 1);
+            next = new TicketCursor(last.createdDate(), last.id());
+        }
+
+        return new TicketPageDto(page, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return;
+        }
+
+        try (Stream<TicketDto> tickets = ticketRepository.streamViewsWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                assignedAgentIds)) {
+            tickets.forEach(consumer);
+        }
     }
 
     private Ticket getTicket(Long ticketId) {
+        if (!existingIdFilter.mayHaveTicket(ticketId)) {
+            throw TicketNotFoundException.INSTANCE;
+        }
         Ticket existingTicket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+                .orElseThrow(() -> {
+                    existingIdFilter.ticketNotFound(ticketId);
+                    return TicketNotFoundException.INSTANCE;
+                });
         return existingTicket;
     }
 
+    /**
+     * Takes an agent the directory knows as a reference, without loading it; only the agents missing from
+     * the directory, created by another node since its last check, are looked up in the database.
+     */
+    private Agent getAgent(Long agentId) {
+        if (agentDirectory.contains(agentId)) {
+            return agentRepository.getReferenceById(agentId);
+        }
+        return agentRepository.findById(agentId).orElseThrow(() -> AgentNotFoundException.INSTANCE);
+    }
+
+    private static void validateTicketBeforeAssigning(Ticket existingTicket) {
+        if (existingTicket.getStatus() != Status.NEW) {
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        }
+    }
+
+    private static void assign(Ticket existingTicket, Agent assignedAgent) {
+        existingTicket.setStatus(Status.IN_PROGRESS);
+        existingTicket.setAssignedAgent(assignedAgent);
+    }
+
+    private static void resolve(Ticket existingTicket) {
+        if (existingTicket.getStatus() != Status.IN_PROGRESS) {
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED);
+        }
+
+        existingTicket.setStatus(Status.RESOLVED);
+    }
+
+    private static void close(Ticket existingTicket) {
+        validateTicketBeforeClosing(existingTicket);
+
+        existingTicket.setStatus(Status.CLOSED);
+        existingTicket.setClosedDate(LocalDateTime.now());
+    }
+
     private static void validateTicketBeforeClosing(Ticket existingTicket) {
         if (existingTicket.getResolutionSummary() == null
                 || existingTicket.getResolutionSummary().isEmpty()) {
@@ -144,6 +503,40 @@ public class TicketServiceImpl implements TicketService {
         }
     }
 
+    private static boolean hasDescription(TicketDto ticketDto) {
+        return ticketDto.description() != null && !ticketDto.description().isEmpty();
+    }
+
+    private static Ticket newTicket(TicketDto ticketDto) {
+        Ticket newTicket = new Ticket();
+        newTicket.setDescription(ticketDto.description());
+        newTicket.setStatus(ticketDto.status());
+        // Every ticket needs a creation date: it is the first key of the keyset order
+        newTicket.setCreatedDate(ticketDto.createdDate() != null ? ticketDto.createdDate() : LocalDateTime.now());
+        return newTicket;
+    }
+
+    private TicketDto publishChange(Ticket ticket, PreviousTicket previousTicket) {
+        TicketDto ticketDto = convertToDto(ticket);
+        eventPublisher.publishEvent(previousTicket != null
+                ? new TicketChangedEvent(ticketDto, previousTicket.ticket(), agentId(ticket), previousTicket.assignedAgentId())
+                : new TicketChangedEvent(ticketDto, null, agentId(ticket), null));
+        return ticketDto;
+    }
+
+    // The ticket as it was before a change, taken before the change is applied
+    private record PreviousTicket(TicketDto ticket, Long assignedAgentId) {
+    }
+
+    private PreviousTicket previous(Ticket ticket) {
+        return new PreviousTicket(convertToDto(ticket), agentId(ticket));
+    }
+
+    // Reading the ID of a lazy agent does not load it
+    private static Long agentId(Ticket ticket) {
+        return ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
+    }
+
     private TicketDto convertToDto(Ticket ticket) {
         return new TicketDto(
                 ticket.getId(),
@@ -151,8 +544,14 @@ public class TicketServiceImpl implements TicketService {
                 ticket.getStatus(),
                 ticket.getCreatedDate(),
                 ticket.getClosedDate(),
-                ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getName() : null,
+                ticket.getAssignedAgent() != null ? agentName(ticket.getAssignedAgent()) : null,
                 ticket.getResolutionSummary()
         );
     }
+
+    // Reading the name of a lazy agent would load it; the directory usually knows it already
+    private String agentName(Agent agent) {
+        String name = agentDirectory.findNameById(agent.getId());
+        return name != null ? name : agent.getName();
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.cache.TicketCounters;
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.exception.InvalidStatsGroupingException;
+import com.example.demo.repository.TicketStatsRepository;
+import com.example.demo.service.AgentDirectory;
+import com.example.demo.service.TicketStatsService;
+import com.example.demo.util.ErrorMessages;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class TicketStatsServiceImpl implements TicketStatsService {
+    private final TicketStatsRepository ticketStatsRepository;
+    private final AgentDirectory agentDirectory;
+    private final TicketCounters ticketCounters;
+
+    public TicketStatsServiceImpl(TicketStatsRepository ticketStatsRepository,
+                                  AgentDirectory agentDirectory,
+                                  TicketCounters ticketCounters) {
+        this.ticketStatsRepository = ticketStatsRepository;
+        this.agentDirectory = agentDirectory;
+        this.ticketCounters = ticketCounters;
+    }
+
+    @Override
+    public List<TicketStatsDto> getTicketStats(TicketFilterDto ticketFilterDto, Set<TicketStatsGroupBy> groupBy) {
+        TicketFilters.validateDateRange(ticketFilterDto);
+        if (groupBy.contains(TicketStatsGroupBy.HOUR) && groupBy.contains(TicketStatsGroupBy.DAY)) {
+            throw new InvalidStatsGroupingException(ErrorMessages.INVALID_STATS_GROUPING);
+        }
+
+        List<Long> assignedAgentIds = TicketFilters.resolveAssignedAgentIds(ticketFilterDto, agentDirectory);
+        if (assignedAgentIds != null && assignedAgentIds.isEmpty()) {
+            return List.of();
+        }
+
+        return ticketStatsRepository.aggregate(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                assignedAgentIds,
+                groupBy);
+    }
+
+    @Override
+    public TicketCountsDto getTicketCounts() {
+        return ticketCounters.getCounts();
+    }
+}
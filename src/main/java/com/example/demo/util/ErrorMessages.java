@@ -1,5 +1,9 @@
 package com.example.demo.util;
 
+import java.util.Map;
+
+import static java.util.Map.entry;
+
 public class ErrorMessages {
 
     private ErrorMessages() {} // Prevents instantiation
@@ -13,4 +17,33 @@ public class ErrorMessages {
     public static final String ONLY_RESOLVED_TICKET_CAN_BE_CLOSED = "Only RESOLVED ticket can be closed.";
     public static final String INVALID_DATE_RANGE = "Invalid date range, the end date must be after the start date.";
     public static final String DESCRIPTION_REQUIRED = "The description is required to register the ticket.";
+    public static final String INVALID_TICKET_FORMAT = "The ticket could not be read.";
+    public static final String TICKET_MODIFIED_CONCURRENTLY = "The ticket was modified by another request, please retry.";
+    public static final String TICKET_NOT_SAVED = "The ticket could not be saved.";
+    public static final String SEARCH_QUERY_REQUIRED = "The search query must contain at least one word.";
+    public static final String INVALID_STATS_GROUPING = "Ticket statistics can be grouped by HOUR or by DAY, not both.";
+
+    // Stable codes clients can match on instead of the messages, which may be reworded
+    private static final Map<String, String> CODES = Map.ofEntries(
+            entry(ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT, "ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT"),
+            entry(AGENT_NOT_FOUND, "AGENT_NOT_FOUND"),
+            entry(TICKET_NOT_FOUND, "TICKET_NOT_FOUND"),
+            entry(RESOLUTION_SUMMARY_REQUIRED, "RESOLUTION_SUMMARY_REQUIRED"),
+            entry(ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED, "ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED"),
+            entry(CLOSED_TICKETS_CANNOT_BE_UPDATED, "CLOSED_TICKETS_CANNOT_BE_UPDATED"),
+            entry(ONLY_RESOLVED_TICKET_CAN_BE_CLOSED, "ONLY_RESOLVED_TICKET_CAN_BE_CLOSED"),
+            entry(INVALID_DATE_RANGE, "INVALID_DATE_RANGE"),
+            entry(DESCRIPTION_REQUIRED, "DESCRIPTION_REQUIRED"),
+            entry(INVALID_TICKET_FORMAT, "INVALID_TICKET_FORMAT"),
+            entry(TICKET_MODIFIED_CONCURRENTLY, "TICKET_MODIFIED_CONCURRENTLY"),
+            entry(TICKET_NOT_SAVED, "TICKET_NOT_SAVED"),
+            entry(SEARCH_QUERY_REQUIRED, "SEARCH_QUERY_REQUIRED"),
+            entry(INVALID_STATS_GROUPING, "INVALID_STATS_GROUPING"));
+
+    /**
+     * Returns the stable code of one of the messages above, or null for any other message.
+     */
+    public static String codeOf(String message) {
+        return message != null ? CODES.get(message) : null;
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.demo;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.model.Status;
+import com.example.demo.service.TicketService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts the application with platform threads, then with virtual threads, and drives the same load
+ * against both. Run with {@code mvn test -Pbenchmark}; tune with {@code benchmark.requests} and
+ * {@code benchmark.concurrency}.
+ */
+@Tag("benchmark")
+class TicketApiThreadingBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+    private static final int TICKETS = 1_000;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.printf("%-10s %12s %10s %10s%n", "threads", "requests/s", "p50 (ms)", "p99 (ms)");
+        for (Result result : List.of(platform, virtual)) {
+            System.out.printf("%-10s %12.0f %10.1f %10.1f%n", result.name, result.throughput, result.p50Millis, result.p99Millis);
+        }
+    }
+
+    private static Result run(String name, boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(TicketApiApplication.class);
+        if (virtualThreads) {
+            application.profiles("virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = application
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + name,
+                        "spring.datasource.hikari.maximum-pool-size=10")
+                .run()) {
+            TicketService ticketService = context.getBean(TicketService.class);
+            for (int i = 0; i < TICKETS; i++) {
+                ticketService.createTicket(new TicketDto(null, "Ticket " + i, Status.NEW, LocalDateTime.now(), null, null, null));
+            }
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tickets";
+            return load(name, baseUrl);
+        }
+    }
+
+    private static Result load(String name, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                // Alternates single reads with filtered list reads
+                URI uri = URI.create(request % 2 == 0
+                        ? baseUrl + "/" + (1 + request % TICKETS)
+                        : baseUrl + "/page?status=NEW&size=50");
+                inFlight.acquire();
+                responses.add(executor.submit(() -> {
+                    try {
+                        long sent = System.nanoTime();
+                        int status = client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies[request] = System.nanoTime() - sent;
+                        return status;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<Integer> response : responses) {
+                assertEquals(200, response.get());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(name, REQUESTS / seconds,
+                latencies[REQUESTS / 2] / 1e6,
+                latencies[(int) (REQUESTS * 0.99)] / 1e6);
+    }
+
+    private record Result(String name, double throughput, double p50Millis, double p99Millis) {
+    }
+}
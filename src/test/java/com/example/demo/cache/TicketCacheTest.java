@@ -0,0 +1,37 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.VersionedTicketDto;
+import com.example.demo.event.AgentChangedEvent;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Given cached tickets, when an agent is renamed, then the assigned tickets are reloaded with the new name and the others stay cached")
+    void givenCachedTickets_whenAgentRenamed_thenReloadsAssignedTickets() {
+        TicketCache cache = new TicketCache(100, Duration.ofMinutes(5));
+        cache.get(1L, id -> load(id, "Agent001"));
+        cache.get(2L, id -> load(id, null));
+
+        cache.onAgentChanged(new AgentChangedEvent(7L));
+
+        assertEquals("Renamed", cache.get(1L, id -> load(id, "Renamed")).ticket().assignedAgent());
+        assertNull(cache.get(2L, id -> load(id, "Unexpected")).ticket().assignedAgent());
+        assertEquals(3, loads.get());
+    }
+
+    private VersionedTicketDto load(Long id, String assignedAgent) {
+        loads.incrementAndGet();
+        return new VersionedTicketDto(new TicketDto(id, "Ticket " + id, Status.NEW, null, null, assignedAgent, null), 1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import com.example.demo.repository.TicketStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketCountersTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private TicketCounters ticketCounters;
+
+    @Mock
+    private TicketStatsRepository ticketStatsRepository;
+
+    @BeforeEach
+    void setup() {
+        ticketCounters = new TicketCounters(ticketStatsRepository);
+    }
+
+    @Test
+    @DisplayName("Given tickets created, assigned and resolved, when getting the counts, then each transition moved one ticket")
+    void givenTicketTransitions_whenGettingCounts_thenReflectsEachTransition() {
+        TicketDto created = ticket(1L, Status.NEW, null);
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+        TicketDto resolved = ticket(1L, Status.RESOLVED, "Agent001");
+
+        ticketCounters.onTicketChanged(new TicketChangedEvent(created, null));
+        ticketCounters.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.NEW, null), null));
+        ticketCounters.onTicketChanged(new TicketChangedEvent(assigned, created, 1L, null));
+        ticketCounters.onTicketChanged(new TicketChangedEvent(resolved, assigned, 1L, 1L));
+
+        TicketCountsDto counts = ticketCounters.getCounts();
+
+        assertEquals(1L, counts.byStatus().get(Status.NEW));
+        assertEquals(0L, counts.byStatus().get(Status.IN_PROGRESS));
+        assertEquals(1L, counts.byStatus().get(Status.RESOLVED));
+        assertEquals(Map.of(1L, 1L), counts.byAssignedAgentId());
+    }
+
+    @Test
+    @DisplayName("Given agents sharing a name, when getting the counts, then each agent has its own count")
+    void givenAgentsSharingName_whenGettingCounts_thenCountsEachAgent() {
+        TicketDto first = ticket(1L, Status.NEW, null);
+        TicketDto second = ticket(2L, Status.NEW, null);
+
+        ticketCounters.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.IN_PROGRESS, "Agent001"), first, 1L, null));
+        ticketCounters.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.IN_PROGRESS, "Agent001"), second, 2L, null));
+
+        assertEquals(Map.of(1L, 1L, 2L, 1L), ticketCounters.getCounts().byAssignedAgentId());
+    }
+
+    @Test
+    @DisplayName("Given concurrent ticket creations, when getting the counts, then no creation is lost")
+    void givenConcurrentCreations_whenGettingCounts_thenNoCreationIsLost() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (long i = 0; i < 10_000; i++) {
+            TicketDto ticket = ticket(i, Status.NEW, null);
+            executor.execute(() -> ticketCounters.onTicketChanged(new TicketChangedEvent(ticket, null)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10_000L, ticketCounters.getCounts().byStatus().get(Status.NEW));
+    }
+
+    @Test
+    @DisplayName("Given counters that drifted from the database, when reconciling, then the database counts are restored")
+    void givenDriftedCounters_whenReconciling_thenRestoresDatabaseCounts() {
+        ticketCounters.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.NEW, null), null));
+        ticketCounters.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.IN_PROGRESS, "Agent002"), null, 2L, null));
+
+        when(ticketStatsRepository.countByStatus()).thenReturn(Map.of(Status.NEW, 3L, Status.CLOSED, 2L));
+        when(ticketStatsRepository.countByAgent()).thenReturn(Map.of(1L, 2L));
+
+        ticketCounters.reconcile();
+
+        TicketCountsDto counts = ticketCounters.getCounts();
+        assertEquals(3L, counts.byStatus().get(Status.NEW));
+        assertEquals(0L, counts.byStatus().get(Status.IN_PROGRESS));
+        assertEquals(2L, counts.byStatus().get(Status.CLOSED));
+        assertEquals(Map.of(1L, 2L), counts.byAssignedAgentId());
+    }
+
+    private static TicketDto ticket(Long id, Status status, String assignedAgent) {
+        return new TicketDto(id, "description", status, CREATED_DATE, null, assignedAgent, null);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.demo.cache;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketListCacheTest {
+
+    private static final TicketFilterDto NEW_TICKETS = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+    private static final TicketFilterDto CLOSED_TICKETS = new TicketFilterDto(List.of(Status.CLOSED), null, null, null);
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    @DisplayName("Given a query running for a filter, when the same filter is requested, then the request waits for that query instead of running its own")
+    void givenRunningQuery_whenSameFilterRequested_thenSharesTheQuery() throws Exception {
+        TicketListCache cache = new TicketListCache(Duration.ZERO, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TicketListDto tickets = list(ticket(1L, Status.NEW));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<TicketListDto> first = executor.submit(() -> cache.get(NEW_TICKETS, filter -> {
+                queries.incrementAndGet();
+                started.countDown();
+                await(release);
+                return tickets;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<TicketListDto> second = executor.submit(() -> cache.get(NEW_TICKETS, filter -> {
+                queries.incrementAndGet();
+                return list();
+            }));
+
+            Thread.sleep(100); // Lets the second request reach the running query
+            release.countDown();
+
+            assertSame(tickets, first.get(5, TimeUnit.SECONDS));
+            assertSame(tickets, second.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("Given the result cache is disabled, when the same filter is requested twice in a row, then both requests query")
+    void givenCacheDisabled_whenRequestedInSequence_thenQueriesEachTime() {
+        TicketListCache cache = new TicketListCache(Duration.ZERO, 0);
+
+        cache.get(NEW_TICKETS, this::query);
+        cache.get(NEW_TICKETS, this::query);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    @DisplayName("Given cached lists, when a ticket changes status, then only the lists filtered on its old or new status are dropped")
+    void givenCachedLists_whenTicketChangesStatus_thenDropsListsOfThoseStatuses() {
+        TicketListCache cache = new TicketListCache(Duration.ofSeconds(5), 100);
+        TicketFilterDto allTickets = new TicketFilterDto(null, null, null, null);
+        cache.get(NEW_TICKETS, this::query);
+        cache.get(CLOSED_TICKETS, this::query);
+        cache.get(allTickets, this::query);
+        assertEquals(3, queries.get());
+
+        cache.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.IN_PROGRESS), ticket(1L, Status.NEW)));
+
+        cache.get(CLOSED_TICKETS, this::query);
+        assertEquals(3, queries.get());
+        cache.get(NEW_TICKETS, this::query);
+        cache.get(allTickets, this::query);
+        assertEquals(5, queries.get());
+    }
+
+    @Test
+    @DisplayName("Given a change committing during a query, when the query ends, then its result is not cached")
+    void givenChangeDuringQuery_whenQueryEnds_thenResultIsNotCached() {
+        TicketListCache cache = new TicketListCache(Duration.ofSeconds(5), 100);
+
+        cache.get(NEW_TICKETS, filter -> {
+            cache.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.NEW), null));
+            return query(filter);
+        });
+        cache.get(NEW_TICKETS, this::query);
+
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    @DisplayName("Given a failing query, when identical requests wait for it, then they all get its exception")
+    void givenFailingQuery_whenRequested_thenPropagatesException() {
+        TicketListCache cache = new TicketListCache(Duration.ofSeconds(5), 100);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(NEW_TICKETS, filter -> {
+            throw new IllegalStateException();
+        }));
+        cache.get(NEW_TICKETS, this::query);
+
+        assertEquals(1, queries.get());
+    }
+
+    private TicketListDto query(TicketFilterDto filter) {
+        queries.incrementAndGet();
+        return list();
+    }
+
+    private static TicketListDto list(TicketDto... tickets) {
+        return new TicketListDto(List.of(tickets), new TicketListStampDto(tickets.length, null, 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TicketDto ticket(Long id, Status status) {
+        return new TicketDto(id, "description", status, LocalDateTime.of(2024, 1, 1, 10, 0), null, null, null);
+    }
+}
@@ -1,34 +1,78 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.BinaryFormatConfig;
+import com.example.demo.dto.TicketBatchErrorDto;
+import com.example.demo.dto.TicketBatchResultDto;
+import com.example.demo.dto.TicketChangeDto;
+import com.example.demo.dto.TicketCountsDto;
+import com.example.demo.dto.TicketCursor;
 import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
 import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.dto.TicketPageDto;
+import com.example.demo.dto.TicketSearchCursor;
+import com.example.demo.dto.TicketSearchPageDto;
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.dto.TicketTransitionResultDto;
+import com.example.demo.dto.VersionedTicketDto;
 import com.example.demo.exception.*;
+import com.example.demo.event.TicketEventType;
+import com.example.demo.feed.TicketChangeFeed;
+import com.example.demo.feed.TicketChangeListener;
 import com.example.demo.model.Status;
+import com.example.demo.service.AgentDirectory;
+import com.example.demo.service.TicketChangeService;
+import com.example.demo.service.TicketHistoryService;
+import com.example.demo.service.TicketSearchService;
 import com.example.demo.service.TicketService;
+import com.example.demo.service.TicketStatsService;
 import com.example.demo.util.ErrorMessages;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TicketController.class)
+@Import(BinaryFormatConfig.class)
 public class TicketControllerTest {
 
     @Autowired
@@ -40,6 +84,21 @@ public class TicketControllerTest {
     @MockitoBean
     private TicketService ticketService;
 
+    @MockitoBean
+    private TicketStatsService ticketStatsService;
+
+    @MockitoBean
+    private TicketSearchService ticketSearchService;
+
+    @MockitoBean
+    private TicketHistoryService ticketHistoryService;
+
+    @MockitoBean
+    private TicketChangeService ticketChangeService;
+
+    @MockitoBean
+    private AgentDirectory agentDirectory;
+
     @Test
     @DisplayName("Given ticket details are provided, when a new ticket is created, then the ticket is successfully saved")
     public void givenTicketDetails_whenTicketIsCreated_thenTicketIsSaved() throws Exception {
@@ -56,6 +115,48 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$.status", is(Status.NEW.name())));
     }
 
+    @Test
+    @DisplayName("Given a JSON array of tickets, when the tickets are created in batch, then the batch result is returned")
+    public void givenJsonArrayOfTickets_whenCreatingTicketsInBatch_thenReturnsBatchResult() throws Exception {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "Ticket 1", Status.NEW, null, null, null, null),
+                new TicketDto(null, null, Status.NEW, null, null, null, null));
+        TicketBatchResultDto result = new TicketBatchResultDto(2, 1, List.of(new TicketBatchErrorDto(1, ErrorMessages.DESCRIPTION_REQUIRED)));
+
+        when(ticketService.createTickets(any())).thenReturn(result);
+
+        mockMvc.perform(post("/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors[0].index", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is(ErrorMessages.DESCRIPTION_REQUIRED)));
+    }
+
+    @Test
+    @DisplayName("Given NDJSON tickets with an unreadable line, when the tickets are created in batch, then each line is passed to the service")
+    public void givenNdjsonTickets_whenCreatingTicketsInBatch_thenPassesEveryLine() throws Exception {
+        TicketDto ticketDto = new TicketDto(null, "Ticket 1", Status.NEW, null, null, null, null);
+        String body = objectMapper.writeValueAsString(ticketDto) + "\n{not json\n\n";
+
+        doAnswer(invocation -> {
+            Stream<TicketDto> ticketDtos = invocation.getArgument(0);
+            List<TicketDto> received = ticketDtos.toList();
+            return new TicketBatchResultDto(received.size(), received.get(0).equals(ticketDto) ? 1 : 0,
+                    List.of(new TicketBatchErrorDto(1, ErrorMessages.INVALID_TICKET_FORMAT)));
+        }).when(ticketService).createTickets(any());
+
+        mockMvc.perform(post("/tickets/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(2)))
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.errors[0].message", is(ErrorMessages.INVALID_TICKET_FORMAT)));
+    }
+
     @Test
     @DisplayName("Given a new ticket, when an agent is assigned, then the ticket status is updated to 'IN_PROGRESS'")
     public void givenNewTicket_whenAssigningAgent_thenStatusIsInProcess() throws Exception {
@@ -85,7 +186,38 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/assign/{agentId}", ticketId, agentId)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT)))
+                .andExpect(jsonPath("$.code", is("ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT")));
+    }
+
+    @Test
+    @DisplayName("Given a business error, when handling the request, then a problem+json body with the status, message and stable code is returned")
+    public void givenBusinessError_whenHandlingRequest_thenReturnProblemJson() throws Exception {
+        when(ticketService.getVersionedTicketById(999L)).thenThrow(TicketNotFoundException.INSTANCE);
+
+        mockMvc.perform(get("/tickets/{id}", 999L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.title", is("Not Found")))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("Given a ticket modified concurrently, when an agent is assigned, then a conflict is returned")
+    public void givenTicketModifiedConcurrently_whenAssigningAgent_thenReturnsConflict() throws Exception {
+        Long ticketId = 1L;
+        Long agentId = 1L;
+
+        when(ticketService.assignAgentToTicket(ticketId, agentId))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated or deleted by another transaction"));
+
+        mockMvc.perform(put("/tickets/{id}/assign/{agentId}", ticketId, agentId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_MODIFIED_CONCURRENTLY)))
+                .andExpect(jsonPath("$.code", is("TICKET_MODIFIED_CONCURRENTLY")));
     }
 
     @Test
@@ -100,7 +232,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/assign/{agentId}", ticketId, agentId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.AGENT_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.AGENT_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("AGENT_NOT_FOUND")));
     }
 
     @Test
@@ -115,7 +248,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/assign/{agentId}", nonexistentTicketId, agentId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string(ErrorMessages.TICKET_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
     }
 
     @Test
@@ -161,7 +295,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/close", ticketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED)))
+                .andExpect(jsonPath("$.code", is("RESOLUTION_SUMMARY_REQUIRED")));
     }
 
     @Test
@@ -175,7 +310,44 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/resolve", ticketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED)))
+                .andExpect(jsonPath("$.code", is("ONLY_TICKET_IN_PROGRESS_CAN_BE_RESOLVED")));
+    }
+
+    @Test
+    @DisplayName("Given ticket IDs, when an agent is assigned to them, then the result of each ticket is returned")
+    public void givenTicketIds_whenAssigningAgentToTickets_thenReturnsResultPerTicket() throws Exception {
+        Long agentId = 1L;
+        TicketDto ticketDto = new TicketDto(1L, "Description", Status.IN_PROGRESS, null, null, "Agent001", null);
+        List<TicketTransitionResultDto> results = List.of(
+                new TicketTransitionResultDto(1L, ticketDto, null),
+                new TicketTransitionResultDto(2L, null, ErrorMessages.TICKET_NOT_FOUND));
+
+        when(ticketService.assignAgentToTickets(List.of(1L, 2L), agentId)).thenReturn(results);
+
+        mockMvc.perform(put("/tickets/batch/assign/{agentId}", agentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].ticket.status", is(Status.IN_PROGRESS.name())))
+                .andExpect(jsonPath("$[1].error", is(ErrorMessages.TICKET_NOT_FOUND)));
+    }
+
+    @Test
+    @DisplayName("Given ticket IDs, when the tickets are closed, then the result of each ticket is returned")
+    public void givenTicketIds_whenClosingTickets_thenReturnsResultPerTicket() throws Exception {
+        List<TicketTransitionResultDto> results = List.of(
+                new TicketTransitionResultDto(1L, null, ErrorMessages.RESOLUTION_SUMMARY_REQUIRED));
+
+        when(ticketService.closeTickets(List.of(1L))).thenReturn(results);
+
+        mockMvc.perform(put("/tickets/batch/close")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(1L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketId", is(1)))
+                .andExpect(jsonPath("$[0].error", is(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED)));
     }
 
     @Test
@@ -209,7 +381,8 @@ public class TicketControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(ticketDto)))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.CLOSED_TICKETS_CANNOT_BE_UPDATED));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.CLOSED_TICKETS_CANNOT_BE_UPDATED)))
+                .andExpect(jsonPath("$.code", is("CLOSED_TICKETS_CANNOT_BE_UPDATED")));
     }
 
     @Test
@@ -219,12 +392,99 @@ public class TicketControllerTest {
         String ticketDescription = "Sample ticket description";
         TicketDto ticketDto = new TicketDto(ticketId, ticketDescription, Status.NEW, null, null, null, null);
 
-        when(ticketService.getTicketById(ticketId)).thenReturn(ticketDto);
+        when(ticketService.getVersionedTicketById(ticketId)).thenReturn(new VersionedTicketDto(ticketDto, 2));
 
         mockMvc.perform(get("/tickets/{id}", ticketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2-0\""))
                 .andExpect(jsonPath("$.id", is(ticketId.intValue())));
+
+        verify(ticketService, never()).getTicketVersion(any());
+    }
+
+    @Test
+    @DisplayName("Given the client holds the current version of a ticket, when getting the ticket, then 304 is returned without loading it")
+    public void givenCurrentTicketVersion_whenGettingTicket_thenReturnsNotModified() throws Exception {
+        when(ticketService.getTicketVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/tickets/{id}", 1L).header("If-None-Match", "\"3-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-0\""))
+                .andExpect(content().string(""));
+
+        verify(ticketService, never()).getVersionedTicketById(any());
+    }
+
+    @Test
+    @DisplayName("Given the client holds an older version of a ticket, when getting the ticket, then the ticket is returned with its new ETag")
+    public void givenOlderTicketVersion_whenGettingTicket_thenReturnsTicket() throws Exception {
+        TicketDto ticketDto = new TicketDto(1L, "Sample ticket description", Status.IN_PROGRESS, null, null, "Agent001", null);
+        when(ticketService.getTicketVersion(1L)).thenReturn(4L);
+        when(ticketService.getVersionedTicketById(1L)).thenReturn(new VersionedTicketDto(ticketDto, 4));
+
+        mockMvc.perform(get("/tickets/{id}", 1L).header("If-None-Match", "\"3-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"4-0\""))
+                .andExpect(jsonPath("$.assignedAgent", is("Agent001")));
+    }
+
+    @Test
+    @DisplayName("Given an agent renamed since the client got the ticket, when getting the ticket, then the ticket is returned with a new ETag")
+    public void givenAgentRenamed_whenGettingTicket_thenReturnsTicket() throws Exception {
+        TicketDto ticketDto = new TicketDto(1L, "Sample ticket description", Status.IN_PROGRESS, null, null, "Renamed", null);
+        when(agentDirectory.generation()).thenReturn(0xabL);
+        when(ticketService.getTicketVersion(1L)).thenReturn(3L);
+        when(ticketService.getVersionedTicketById(1L)).thenReturn(new VersionedTicketDto(ticketDto, 3));
+
+        mockMvc.perform(get("/tickets/{id}", 1L).header("If-None-Match", "\"3-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"3-ab\""))
+                .andExpect(jsonPath("$.assignedAgent", is("Renamed")));
+    }
+
+    @Test
+    @DisplayName("Given the client holds the current list, when getting tickets, then 304 is returned without loading them")
+    public void givenCurrentTicketList_whenGettingTickets_thenReturnsNotModified() throws Exception {
+        TicketListStampDto stamp = new TicketListStampDto(2, LocalDateTime.of(2024, 1, 1, 10, 0), 5);
+        when(ticketService.getTicketList(any(TicketFilterDto.class))).thenReturn(new TicketListDto(List.of(), stamp));
+        when(ticketService.getTicketsStamp(any(TicketFilterDto.class))).thenReturn(stamp);
+
+        String eTag = mockMvc.perform(get("/tickets").param("status", "NEW"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        verify(ticketService, never()).getTicketsStamp(any(TicketFilterDto.class));
+
+        mockMvc.perform(get("/tickets").param("status", "NEW").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues("ETag", eTag));
+
+        TicketListStampDto newStamp = new TicketListStampDto(1, stamp.lastModifiedDate(), 5);
+        when(ticketService.getTicketsStamp(any(TicketFilterDto.class))).thenReturn(newStamp);
+        when(ticketService.getTicketList(any(TicketFilterDto.class))).thenReturn(new TicketListDto(List.of(), newStamp));
+        String newETag = mockMvc.perform(get("/tickets").param("status", "NEW").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(eTag, newETag);
+        verify(ticketService, times(2)).getTicketList(any(TicketFilterDto.class));
+    }
+
+    @Test
+    @DisplayName("Given an agent renamed since the client got the list, when getting tickets, then the list is returned with a new ETag")
+    public void givenAgentRenamed_whenGettingTickets_thenReturnsList() throws Exception {
+        TicketListStampDto stamp = new TicketListStampDto(2, LocalDateTime.of(2024, 1, 1, 10, 0), 5);
+        when(ticketService.getTicketList(any(TicketFilterDto.class))).thenReturn(new TicketListDto(List.of(), stamp));
+        when(ticketService.getTicketsStamp(any(TicketFilterDto.class))).thenReturn(stamp);
+        String eTag = mockMvc.perform(get("/tickets"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        when(agentDirectory.generation()).thenReturn(0xabL);
+        String newETag = mockMvc.perform(get("/tickets").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertNotEquals(eTag, newETag);
     }
 
     @Test
@@ -237,7 +497,8 @@ public class TicketControllerTest {
 
         List<TicketDto> filteredTickets = List.of(ticketDto1, ticketDto2);
 
-        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(filteredTickets);
+        when(ticketService.getTicketList(any(TicketFilterDto.class)))
+                .thenReturn(new TicketListDto(filteredTickets, new TicketListStampDto(2, LocalDateTime.now(), 0)));
 
         mockMvc.perform(get("/tickets")
                         .param("status", "NEW,IN_PROGRESS")
@@ -262,7 +523,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/resolve", nonexistentTicketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string(ErrorMessages.TICKET_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
     }
 
     @Test
@@ -276,7 +538,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/close", nonexistentTicketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string(ErrorMessages.TICKET_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
     }
 
     @Test
@@ -290,7 +553,8 @@ public class TicketControllerTest {
         mockMvc.perform(put("/tickets/{id}/close", ticketId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.ONLY_RESOLVED_TICKET_CAN_BE_CLOSED));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.ONLY_RESOLVED_TICKET_CAN_BE_CLOSED)))
+                .andExpect(jsonPath("$.code", is("ONLY_RESOLVED_TICKET_CAN_BE_CLOSED")));
     }
 
     @Test
@@ -307,7 +571,8 @@ public class TicketControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(ticketDto)))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string(ErrorMessages.TICKET_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
     }
 
     @Test
@@ -315,26 +580,29 @@ public class TicketControllerTest {
     public void givenNonexistentTicket_whenGettingTicket_thenThrowException() throws Exception {
         Long nonexistentTicketId = 999L;
 
-        when(ticketService.getTicketById(nonexistentTicketId))
+        when(ticketService.getTicketVersion(nonexistentTicketId))
                 .thenThrow(new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
 
         mockMvc.perform(get("/tickets/{id}", nonexistentTicketId)
+                        .header("If-None-Match", "\"0\"")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound())
-                .andExpect(content().string(ErrorMessages.TICKET_NOT_FOUND));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
     }
 
     @Test
     @DisplayName("Given an invalid date range, when getting tickets, then an InvalidDateRangeException is thrown")
     public void givenInvalidDataRange_whenGettingTicket_thenThrowException() throws Exception {
-        when(ticketService.getTickets(any(TicketFilterDto.class)))
+        when(ticketService.getTicketList(any(TicketFilterDto.class)))
                 .thenThrow(new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE));
 
         mockMvc.perform(get("/tickets")
                         .param("startDate", LocalDateTime.now().toString())
                         .param("endDate", LocalDateTime.now().minusDays(3).toString()))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.INVALID_DATE_RANGE));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.INVALID_DATE_RANGE)))
+                .andExpect(jsonPath("$.code", is("INVALID_DATE_RANGE")));
     }
 
     @Test
@@ -349,6 +617,244 @@ public class TicketControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(ticketDto)))
                 .andExpect(status().isBadRequest())
-                .andExpect(content().string(ErrorMessages.DESCRIPTION_REQUIRED));
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.DESCRIPTION_REQUIRED)))
+                .andExpect(jsonPath("$.code", is("DESCRIPTION_REQUIRED")));
+    }
+
+    @Test
+    @DisplayName("Given a cursor, when getting a page of tickets, then the page and the next cursor are returned")
+    public void givenCursor_whenGettingTicketsPage_thenReturnsPageAndNextCursor() throws Exception {
+        LocalDateTime afterCreatedDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime createdDate = afterCreatedDate.plusHours(1);
+        TicketDto ticketDto = new TicketDto(3L, "Sample ticket description", Status.NEW, createdDate, null, null, null);
+        TicketPageDto page = new TicketPageDto(List.of(ticketDto), new TicketCursor(createdDate, 3L));
+
+        when(ticketService.getTicketsPage(any(TicketFilterDto.class), eq(new TicketCursor(afterCreatedDate, 2L)), eq(1)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/tickets/page")
+                        .param("status", "NEW")
+                        .param("afterCreatedDate", afterCreatedDate.toString())
+                        .param("afterId", "2")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].id", is(3)))
+                .andExpect(jsonPath("$.next.id", is(3)));
+    }
+
+    @Test
+    @DisplayName("Given no cursor, when getting a page of tickets, then the first page is requested")
+    public void givenNoCursor_whenGettingTicketsPage_thenRequestsFirstPage() throws Exception {
+        when(ticketService.getTicketsPage(any(TicketFilterDto.class), isNull(), anyInt()))
+                .thenReturn(new TicketPageDto(List.of(), null));
+
+        mockMvc.perform(get("/tickets/page"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when streaming tickets, then each ticket is written as one NDJSON line")
+    @SuppressWarnings("unchecked")
+    public void givenFilterCriteria_whenStreamingTickets_thenWritesOneLinePerTicket() throws Exception {
+        TicketDto ticketDto1 = new TicketDto(1L, "Ticket 1", Status.NEW, null, null, null, null);
+        TicketDto ticketDto2 = new TicketDto(2L, "Ticket 2", Status.NEW, null, null, null, null);
+
+        doAnswer(invocation -> {
+            Consumer<TicketDto> consumer = invocation.getArgument(1);
+            consumer.accept(ticketDto1);
+            consumer.accept(ticketDto2);
+            return null;
+        }).when(ticketService).streamTickets(any(TicketFilterDto.class), any(Consumer.class));
+
+        mockMvc.perform(get("/tickets/stream")
+                        .param("status", "NEW")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(ticketDto1) + "\n"
+                        + objectMapper.writeValueAsString(ticketDto2) + "\n"));
+    }
+
+    @Test
+    @DisplayName("Given grouping dimensions, when getting ticket stats, then the statistics of each group are returned")
+    public void givenGroupingDimensions_whenGettingTicketStats_thenReturnsGroupStats() throws Exception {
+        LocalDateTime bucket = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TicketStatsDto stats = new TicketStatsDto(Status.CLOSED, null, null, bucket, 3, 3, 200.0, 200.0, 290.0);
+
+        when(ticketStatsService.getTicketStats(any(TicketFilterDto.class),
+                eq(EnumSet.of(TicketStatsGroupBy.STATUS, TicketStatsGroupBy.DAY))))
+                .thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/tickets/stats")
+                        .param("status", "CLOSED")
+                        .param("groupBy", "STATUS", "DAY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].status", is(Status.CLOSED.name())))
+                .andExpect(jsonPath("$[0].count", is(3)))
+                .andExpect(jsonPath("$[0].p95ResolutionSeconds", is(290.0)));
+    }
+
+    @Test
+    @DisplayName("Given a grouping by both hour and day, when getting ticket stats, then a bad request is returned")
+    public void givenGroupingByHourAndDay_whenGettingTicketStats_thenReturnsBadRequest() throws Exception {
+        when(ticketStatsService.getTicketStats(any(TicketFilterDto.class), any()))
+                .thenThrow(new InvalidStatsGroupingException(ErrorMessages.INVALID_STATS_GROUPING));
+
+        mockMvc.perform(get("/tickets/stats")
+                        .param("groupBy", "HOUR", "DAY"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.INVALID_STATS_GROUPING)))
+                .andExpect(jsonPath("$.code", is("INVALID_STATS_GROUPING")));
+    }
+
+    @Test
+    @DisplayName("When getting ticket counts, then the counts per status and per agent are returned")
+    public void whenGettingTicketCounts_thenReturnsCountsPerStatusAndAgent() throws Exception {
+        when(ticketStatsService.getTicketCounts())
+                .thenReturn(new TicketCountsDto(Map.of(Status.NEW, 4L), Map.of(1L, 2L)));
+
+        mockMvc.perform(get("/tickets/counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.NEW", is(4)))
+                .andExpect(jsonPath("$.byAssignedAgentId['1']", is(2)));
+    }
+
+    @Test
+    @DisplayName("Given a query and a cursor, when searching tickets, then the page and the next cursor are returned")
+    public void givenQueryAndCursor_whenSearchingTickets_thenReturnsPageAndNextCursor() throws Exception {
+        TicketDto ticketDto = new TicketDto(3L, "Printer out of toner", Status.NEW, null, null, null, null);
+        TicketSearchPageDto page = new TicketSearchPageDto(List.of(ticketDto), new TicketSearchCursor(1.5f, 3L));
+
+        when(ticketSearchService.searchTickets(eq("printer"), any(TicketFilterDto.class), eq(new TicketSearchCursor(2.5f, 1L)), eq(1)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/tickets/search")
+                        .param("q", "printer")
+                        .param("status", "NEW")
+                        .param("afterScore", "2.5")
+                        .param("afterId", "1")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].id", is(3)))
+                .andExpect(jsonPath("$.next.id", is(3)));
+    }
+
+    @Test
+    @DisplayName("Given a query without any word, when searching tickets, then a bad request is returned")
+    public void givenQueryWithoutWord_whenSearchingTickets_thenReturnsBadRequest() throws Exception {
+        when(ticketSearchService.searchTickets(eq("  "), any(TicketFilterDto.class), isNull(), anyInt()))
+                .thenThrow(new InvalidSearchQueryException(ErrorMessages.SEARCH_QUERY_REQUIRED));
+
+        mockMvc.perform(get("/tickets/search").param("q", "  "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.SEARCH_QUERY_REQUIRED)))
+                .andExpect(jsonPath("$.code", is("SEARCH_QUERY_REQUIRED")));
+    }
+
+    @Test
+    @DisplayName("Given a ticket with a history, when getting its history, then the journal events are returned oldest first")
+    public void givenTicketWithHistory_whenGettingHistory_thenReturnsEventsOldestFirst() throws Exception {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TicketDto created = new TicketDto(1L, "Sample ticket description", Status.NEW, createdDate, null, null, null);
+        TicketDto assigned = new TicketDto(1L, "Sample ticket description", Status.IN_PROGRESS, createdDate, null, "Agent001", null);
+
+        when(ticketHistoryService.getTicketHistory(1L)).thenReturn(List.of(
+                new TicketEventDto(1L, createdDate, TicketEventType.CREATED, created),
+                new TicketEventDto(5L, createdDate.plusMinutes(5), TicketEventType.ASSIGNED, assigned)));
+
+        mockMvc.perform(get("/tickets/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].type", is(TicketEventType.CREATED.name())))
+                .andExpect(jsonPath("$[1].ticket.assignedAgent", is("Agent001")));
+    }
+
+    @Test
+    @DisplayName("Given a ticket with a history, when getting it as of a past time, then its state at that time is returned")
+    public void givenTicketWithHistory_whenGettingAsOf_thenReturnsStateAtThatTime() throws Exception {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TicketDto created = new TicketDto(1L, "Sample ticket description", Status.NEW, createdDate, null, null, null);
+
+        when(ticketHistoryService.getTicketAsOf(1L, createdDate.plusMinutes(1))).thenReturn(created);
+
+        mockMvc.perform(get("/tickets/1/state").param("asOf", "2024-01-01T10:01:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is(Status.NEW.name())));
+    }
+
+    @Test
+    @DisplayName("Given a time before the ticket existed, when getting it as of that time, then a TicketNotFoundException is thrown")
+    public void givenTimeBeforeTicketExisted_whenGettingAsOf_thenReturnsNotFound() throws Exception {
+        LocalDateTime asOf = LocalDateTime.of(2023, 1, 1, 0, 0);
+        when(ticketHistoryService.getTicketAsOf(1L, asOf))
+                .thenThrow(new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+
+        mockMvc.perform(get("/tickets/1/state").param("asOf", "2023-01-01T00:00:00"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.TICKET_NOT_FOUND)))
+                .andExpect(jsonPath("$.code", is("TICKET_NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("Given a client resuming the change stream, when changes are pushed, then they are sent as events numbered by sequence")
+    public void givenClientResumingChangeStream_whenChangesArePushed_thenSendsNumberedEvents() throws Exception {
+        TicketDto created = new TicketDto(6L, "Sample ticket description", Status.NEW, LocalDateTime.of(2024, 1, 1, 10, 0), null, null, null);
+        when(ticketChangeService.subscribe(any(TicketFilterDto.class), eq(5L), any(TicketChangeListener.class)))
+                .thenAnswer(invocation -> {
+                    TicketChangeListener listener = invocation.getArgument(2);
+                    listener.onChange(new TicketChangeDto(6L, TicketEventType.CREATED, created));
+                    listener.onEnd();
+                    return mock(TicketChangeFeed.Subscription.class);
+                });
+
+        MvcResult result = mockMvc.perform(get("/tickets/changes").header("Last-Event-ID", "5"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("id:6")))
+                .andExpect(content().string(containsString("event:CREATED")))
+                .andExpect(content().string(containsString("\"description\":\"Sample ticket description\"")));
+    }
+
+    @Test
+    @DisplayName("Given an end date before the start date, when subscribing to the change stream, then an InvalidDateRangeException is thrown")
+    public void givenInvalidDateRange_whenSubscribingToChanges_thenReturnsBadRequest() throws Exception {
+        when(ticketChangeService.subscribe(any(TicketFilterDto.class), isNull(), any(TicketChangeListener.class)))
+                .thenThrow(new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE));
+
+        mockMvc.perform(get("/tickets/changes")
+                        .param("startDate", "2024-02-01T00:00:00")
+                        .param("endDate", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", is(ErrorMessages.INVALID_DATE_RANGE)))
+                .andExpect(jsonPath("$.code", is("INVALID_DATE_RANGE")));
+    }
+
+    @Test
+    @DisplayName("Given a client accepting CBOR or Smile, when getting tickets, then the list is written in that format")
+    public void givenBinaryAcceptHeader_whenGettingTickets_thenWritesBinaryList() throws Exception {
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.IN_PROGRESS, LocalDateTime.of(2024, 1, 1, 10, 0), null, "Agent001", null),
+                new TicketDto(2L, "Ticket 2", Status.IN_PROGRESS, LocalDateTime.of(2024, 1, 1, 11, 0), null, "Agent001", null));
+        when(ticketService.getTicketList(any(TicketFilterDto.class)))
+                .thenReturn(new TicketListDto(tickets, new TicketListStampDto(2, LocalDateTime.now(), 0)));
+
+        byte[] cbor = mockMvc.perform(get("/tickets").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(tickets, List.of(BinaryFormatConfig.cborMapper(Jackson2ObjectMapperBuilder.json()).readValue(cbor, TicketDto[].class)));
+
+        byte[] smile = mockMvc.perform(get("/tickets").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(tickets, List.of(BinaryFormatConfig.smileMapper(Jackson2ObjectMapperBuilder.json()).readValue(smile, TicketDto[].class)));
     }
 }
@@ -0,0 +1,117 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Agent;
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import com.example.demo.repository.AgentRepository;
+import com.example.demo.repository.TicketRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements Hibernate prepares for each request, to catch N+1 queries: listing N tickets,
+ * each assigned to a different agent, must cost the same number of statements for any N.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureMockMvc
+public class TicketQueryCountTest {
+
+    private static final int MAX_STATEMENTS_PER_LIST = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        ticketRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Given tickets of different agents, when listing them, then the number of statements does not grow with the number of tickets")
+    void givenTicketsOfDifferentAgents_whenListing_thenStatementCountIsConstant() throws Exception {
+        seed(5);
+        List<Long> fewTickets = listStatementCounts();
+
+        seed(45);
+        List<Long> manyTickets = listStatementCounts();
+
+        assertEquals(fewTickets, manyTickets);
+        manyTickets.forEach(count -> assertTrue(count <= MAX_STATEMENTS_PER_LIST, manyTickets.toString()));
+    }
+
+    @Test
+    @DisplayName("Given tickets of different agents, when resolving them in bulk, then no agent is loaded one by one")
+    void givenTicketsOfDifferentAgents_whenResolvingInBulk_thenNoAgentIsFetchedLazily() throws Exception {
+        List<Long> ticketIds = seed(20);
+
+        statistics.clear();
+        mockMvc.perform(put("/tickets/batch/resolve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketIds)))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    private List<Long> listStatementCounts() throws Exception {
+        return List.of(
+                statementsFor(get("/tickets")),
+                statementsFor(get("/tickets/page").param("size", "1000")),
+                statementsFor(get("/tickets/stream")));
+    }
+
+    private long statementsFor(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> seed(int count) {
+        List<Long> ticketIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Agent agent = agentRepository.save(new Agent(null, "Agent" + agentRepository.count()));
+            Ticket ticket = new Ticket(null, "Ticket " + i, Status.IN_PROGRESS, LocalDateTime.now());
+            ticket.setAssignedAgent(agent);
+            ticketIds.add(ticketRepository.save(ticket).getId());
+        }
+        return ticketIds;
+    }
+}
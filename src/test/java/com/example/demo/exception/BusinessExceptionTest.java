@@ -0,0 +1,36 @@
+package com.example.demo.exception;
+
+import com.example.demo.util.ErrorMessages;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusinessExceptionTest {
+
+    @Test
+    @DisplayName("Given a business exception, when it is thrown, then no stack trace is captured and its code comes from the message")
+    void givenBusinessException_whenThrown_thenNoStackTraceAndStableCode() {
+        InvalidTicketStateException exception = assertThrows(InvalidTicketStateException.class, () -> {
+            throw new InvalidTicketStateException(ErrorMessages.ONLY_RESOLVED_TICKET_CAN_BE_CLOSED);
+        });
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("ONLY_RESOLVED_TICKET_CAN_BE_CLOSED", exception.getCode());
+        assertNull(new MissingDescriptionException("Some other message").getCode());
+    }
+
+    @Test
+    @DisplayName("Given a shared business exception, when someone tries to alter it, then it stays as it was")
+    void givenSharedException_whenAltered_thenUnchanged() {
+        TicketNotFoundException exception = TicketNotFoundException.INSTANCE;
+
+        exception.addSuppressed(new IllegalStateException());
+        exception.setStackTrace(new StackTraceElement[]{new StackTraceElement("Caller", "call", null, 1)});
+
+        assertThrows(IllegalStateException.class, () -> exception.initCause(new IllegalStateException()));
+        assertEquals(0, exception.getSuppressed().length);
+        assertEquals(0, exception.getStackTrace().length);
+        assertNull(exception.getCause());
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.feed;
+
+import com.example.demo.dto.TicketChangeDto;
+import com.example.demo.dto.TicketDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketChangeFeedTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Test
+    @DisplayName("Given changes already published, when subscribing after a sequence, then the retained changes since are delivered before the new ones")
+    void givenPublishedChanges_whenSubscribingAfterSequence_thenReplaysThenFollows() throws Exception {
+        TicketChangeFeed feed = new TicketChangeFeed(100, 100, Duration.ofMinutes(1));
+        for (long id = 1; id <= 3; id++) {
+            feed.onTicketChanged(new TicketChangedEvent(ticket(id, Status.NEW, null), null));
+        }
+
+        RecordingListener listener = new RecordingListener();
+        try (TicketChangeFeed.Subscription subscription = feed.subscribe(ticket -> true, 1L, listener)) {
+            feed.onTicketChanged(new TicketChangedEvent(ticket(4L, Status.NEW, null), null));
+
+            assertEquals(List.of(2L, 3L, 4L), listener.sequences(3));
+            assertFalse(listener.gap);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a sequence older than the retained changes, when subscribing after it, then the listener is told changes were missed")
+    void givenSequenceNoLongerRetained_whenSubscribing_thenReportsGap() throws Exception {
+        TicketChangeFeed feed = new TicketChangeFeed(2, 100, Duration.ofMinutes(1));
+        for (long id = 1; id <= 5; id++) {
+            feed.onTicketChanged(new TicketChangedEvent(ticket(id, Status.NEW, null), null));
+        }
+
+        RecordingListener listener = new RecordingListener();
+        try (TicketChangeFeed.Subscription subscription = feed.subscribe(ticket -> true, 1L, listener)) {
+            assertEquals(List.of(4L, 5L), listener.sequences(2));
+            assertTrue(listener.gap);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a filter, when a ticket leaves it, then the change is still delivered but changes of other tickets are not")
+    void givenFilter_whenTicketLeavesIt_thenDeliversChange() throws Exception {
+        TicketChangeFeed feed = new TicketChangeFeed(100, 100, Duration.ofMinutes(1));
+        RecordingListener listener = new RecordingListener();
+        try (TicketChangeFeed.Subscription subscription = feed.subscribe(ticket -> ticket.status() == Status.NEW, null, listener)) {
+            TicketDto created = ticket(1L, Status.NEW, null);
+            feed.onTicketChanged(new TicketChangedEvent(created, null));
+            TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+            feed.onTicketChanged(new TicketChangedEvent(assigned, created));
+            feed.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.RESOLVED, "Agent001"), assigned));
+
+            assertEquals(List.of(1L, 2L), listener.sequences(2));
+            assertNull(listener.changes.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Given a subscriber that stopped reading, when its buffer fills up, then publishing goes on and the subscription ends after the buffered changes")
+    void givenStalledSubscriber_whenBufferFills_thenDropsSubscriptionWithoutBlocking() throws Exception {
+        TicketChangeFeed feed = new TicketChangeFeed(100, 2, Duration.ofMinutes(1));
+        CountDownLatch stalled = new CountDownLatch(1);
+        RecordingListener listener = new RecordingListener() {
+            @Override
+            public void onChange(TicketChangeDto change) throws IOException {
+                super.onChange(change);
+                try {
+                    stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        feed.subscribe(ticket -> true, null, listener);
+
+        for (long id = 1; id <= 10; id++) {
+            feed.onTicketChanged(new TicketChangedEvent(ticket(id, Status.NEW, null), null));
+        }
+        stalled.countDown();
+
+        assertTrue(listener.ended.await(5, TimeUnit.SECONDS));
+        List<Long> delivered = new ArrayList<>();
+        listener.changes.drainTo(delivered);
+        assertTrue(delivered.size() <= 3);
+        assertEquals(1L, delivered.get(0));
+    }
+
+    private static TicketDto ticket(Long id, Status status, String assignedAgent) {
+        return new TicketDto(id, "description", status, CREATED_DATE, null, assignedAgent, null);
+    }
+
+    private static class RecordingListener implements TicketChangeListener {
+
+        final BlockingQueue<Long> changes = new LinkedBlockingQueue<>();
+        final CountDownLatch ended = new CountDownLatch(1);
+        volatile boolean gap;
+
+        @Override
+        public void onGap() {
+            gap = true;
+        }
+
+        @Override
+        public void onChange(TicketChangeDto change) throws IOException {
+            changes.add(change.sequence());
+        }
+
+        @Override
+        public void onIdle() {
+        }
+
+        @Override
+        public void onEnd() {
+            ended.countDown();
+        }
+
+        List<Long> sequences(int count) throws InterruptedException {
+            List<Long> sequences = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Long sequence = changes.poll(5, TimeUnit.SECONDS);
+                assertNotNull(sequence);
+                sequences.add(sequence);
+            }
+            return sequences;
+        }
+    }
+}
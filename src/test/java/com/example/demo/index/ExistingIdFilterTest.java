@@ -0,0 +1,118 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import com.example.demo.repository.TicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExistingIdFilterTest {
+
+    private static final LocalDateTime REBUILT = LocalDateTime.of(2024, 1, 2, 0, 0);
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private ExistingIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ExistingIdFilter(ticketRepository, 1000, 0.01, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Given a rebuilt filter, when looking up IDs, then every existing ID may be present")
+    void givenRebuiltFilter_whenLookingUpExistingIds_thenNoFalseNegative() {
+        filter.rebuild(500, LongStream.rangeClosed(1, 500).boxed(), REBUILT);
+
+        assertTrue(LongStream.rangeClosed(1, 500).allMatch(filter::mayHaveTicket));
+    }
+
+    @Test
+    @DisplayName("Given a rebuilt filter, when looking up IDs that never existed, then about the configured rate get through without any query")
+    void givenRebuiltFilter_whenLookingUpMissingIds_thenFalsePositiveRateHoldsWithoutQuery() {
+        filter.rebuild(1000, LongStream.rangeClosed(1, 2000).filter(id -> id % 2 == 0).boxed(), REBUILT);
+
+        long falsePositives = LongStream.rangeClosed(1, 2000).filter(id -> id % 2 == 1).filter(filter::mayHaveTicket).count();
+
+        assertTrue(falsePositives < 30, "False positives: " + falsePositives);
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Given no rebuild yet, when looking up IDs, then every ID may be present")
+    void givenNoRebuild_whenLookingUpIds_thenMayBePresent() {
+        assertTrue(filter.mayHaveTicket(42L));
+    }
+
+    @Test
+    @DisplayName("Given tickets created by other nodes since the rebuild, when refreshing, then the tickets modified since shortly before the rebuild are added")
+    void givenTicketsCreatedElsewhere_whenRefreshing_thenAddsTicketsModifiedSinceRebuild() {
+        filter.rebuild(1, Stream.of(1L), REBUILT);
+        assertFalse(filter.mayHaveTicket(50L));
+
+        when(ticketRepository.findIdsModifiedSince(REBUILT.minusMinutes(1))).thenReturn(List.of(50L));
+        filter.refresh();
+
+        assertTrue(filter.mayHaveTicket(50L));
+    }
+
+    @Test
+    @DisplayName("Given a refresh, when refreshing again, then only the tickets modified since shortly before the previous refresh are read")
+    void givenRefresh_whenRefreshingAgain_thenReadsSincePreviousRefresh() {
+        LocalDateTime refreshed = REBUILT.plusSeconds(5);
+        filter.rebuild(1, Stream.of(1L), REBUILT);
+        filter.refresh(List.of(), refreshed);
+
+        when(ticketRepository.findIdsModifiedSince(refreshed.minusMinutes(1))).thenReturn(List.of());
+        filter.refresh();
+
+        verify(ticketRepository).findIdsModifiedSince(refreshed.minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Given tickets created on this node after the rebuild, when looking them up, then they may be present until a rebuild drops them")
+    void givenCreatedAfterRebuild_whenLookingUp_thenMayBePresent() {
+        filter.rebuild(1, Stream.of(1L), REBUILT);
+        TicketDto created = new TicketDto(7L, "Ticket 7", Status.NEW, LocalDateTime.now(), null, null, null);
+
+        filter.onTicketChanged(new TicketChangedEvent(created, null));
+        assertTrue(filter.mayHaveTicket(7L));
+
+        filter.rebuild(1, Stream.of(100L), REBUILT);
+        assertFalse(filter.mayHaveTicket(7L), "A rebuild drops the IDs no longer in the database");
+    }
+
+    @Test
+    @DisplayName("Given lookups and misses, when reading the metrics, then the answers and false positives are counted")
+    void givenLookups_whenReadingMetrics_thenCountAnswersAndFalsePositives() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.rebuild(2, Stream.of(1L, 2L), REBUILT);
+
+        filter.mayHaveTicket(1L);
+        filter.ticketNotFound(1L);
+        filter.mayHaveTicket(1_000_000L);
+
+        assertEquals(1, registry.get("tickets.id-filter.lookups").tags("entity", "ticket", "result", "maybe").functionCounter().count());
+        assertEquals(1, registry.get("tickets.id-filter.lookups").tags("entity", "ticket", "result", "absent").functionCounter().count());
+        assertEquals(1, registry.get("tickets.id-filter.false-positives").tag("entity", "ticket").functionCounter().count());
+        assertTrue(registry.get("tickets.id-filter.expected-false-positive-rate").tag("entity", "ticket").gauge().value() < 0.01);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketIndexEntryDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketBitmapIndexTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 1, 1, 9, 15);
+    private static final LocalDateTime AFTERNOON = LocalDateTime.of(2024, 1, 1, 15, 45);
+    private static final LocalDateTime REBUILT = LocalDateTime.of(2024, 1, 2, 0, 0);
+
+    private final TicketBitmapIndex index = new TicketBitmapIndex(null, 3, Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("Given rebuilt bitmaps, when filtering on status and agent, then the candidates are the tickets matching both")
+    void givenRebuiltIndex_whenFilteringOnStatusAndAgent_thenIntersect() {
+        rebuild(
+                entry(1L, Status.NEW, MORNING, null),
+                entry(2L, Status.IN_PROGRESS, MORNING, 1L),
+                entry(3L, Status.IN_PROGRESS, AFTERNOON, 2L),
+                entry(4L, Status.RESOLVED, AFTERNOON, 1L));
+
+        assertEquals(List.of(2L), ids(List.of(Status.IN_PROGRESS), null, null, List.of(1L)));
+        assertEquals(List.of(2L, 4L), ids(List.of(Status.IN_PROGRESS, Status.RESOLVED), null, null, List.of(1L)));
+        assertEquals(List.of(), ids(List.of(Status.CLOSED), null, null, List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Given rebuilt bitmaps, when asking for candidates, then the tickets modified since shortly before the rebuild are candidates too")
+    void givenRebuiltIndex_whenAskingForCandidates_thenIncludeModifiedSinceRebuild() {
+        rebuild(entry(1L, Status.NEW, MORNING, null), entry(2L, Status.NEW, MORNING, null));
+
+        TicketBitmapIndex.Candidates candidates = index.candidates(List.of(Status.NEW), MORNING, MORNING, null);
+
+        assertEquals(REBUILT.minusMinutes(1), candidates.modifiedSince());
+    }
+
+    @Test
+    @DisplayName("Given rebuilt bitmaps, when filtering on a date range, then the whole hours at its edges are candidates")
+    void givenRebuiltIndex_whenFilteringOnDateRange_thenTakeWholeHours() {
+        rebuild(
+                entry(1L, Status.NEW, MORNING, null),
+                entry(2L, Status.NEW, MORNING.plusHours(1), null),
+                entry(3L, Status.NEW, AFTERNOON, null));
+
+        assertEquals(List.of(1L, 2L), ids(List.of(Status.NEW), MORNING.plusMinutes(30), MORNING.plusMinutes(50), null));
+        assertEquals(List.of(2L, 3L), ids(List.of(Status.NEW), MORNING.plusHours(1), null, null));
+        assertEquals(List.of(1L), ids(List.of(Status.NEW), null, MORNING, null));
+        assertEquals(List.of(), ids(List.of(Status.NEW), AFTERNOON, MORNING, null));
+    }
+
+    @Test
+    @DisplayName("Given a filter on one criterion, when asking for candidates, then the database is left to answer alone")
+    void givenSingleCriterion_whenAskingForCandidates_thenReturnNull() {
+        rebuild(entry(1L, Status.NEW, MORNING, null));
+
+        assertNull(index.candidates(List.of(Status.NEW), null, null, null));
+        assertNull(index.candidates(null, MORNING, AFTERNOON, List.of()));
+    }
+
+    @Test
+    @DisplayName("Given no rebuild yet, when asking for candidates, then the database is left to answer alone")
+    void givenNoRebuild_whenAskingForCandidates_thenReturnNull() {
+        assertNull(index.candidates(List.of(Status.NEW), MORNING, AFTERNOON, null));
+    }
+
+    @Test
+    @DisplayName("Given more candidates than the maximum, when asking for candidates, then the database is left to answer alone")
+    void givenTooManyCandidates_whenAskingForCandidates_thenReturnNull() {
+        rebuild(
+                entry(1L, Status.NEW, MORNING, null),
+                entry(2L, Status.NEW, MORNING, null),
+                entry(3L, Status.NEW, MORNING, null),
+                entry(4L, Status.NEW, MORNING, null));
+
+        assertNull(index.candidates(List.of(Status.NEW), MORNING, MORNING, null));
+    }
+
+    @Test
+    @DisplayName("Given a ticket ID larger than an int, when rebuilding, then the bitmaps are not used")
+    void givenIdLargerThanInt_whenRebuilding_thenReturnNull() {
+        rebuild(entry(Integer.MAX_VALUE + 1L, Status.NEW, MORNING, null));
+
+        assertNull(index.candidates(List.of(Status.NEW), MORNING, MORNING, null));
+    }
+
+    @Test
+    @DisplayName("Given committed ticket changes, when asking for candidates, then the status bitmaps reflect them")
+    void givenTicketChanges_whenAskingForCandidates_thenReflectChanges() {
+        rebuild(entry(1L, Status.NEW, MORNING, null));
+
+        index.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.NEW), null));
+        index.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.IN_PROGRESS), ticket(1L, Status.NEW)));
+
+        assertEquals(List.of(2L), ids(List.of(Status.NEW), MORNING, MORNING, null));
+        assertEquals(List.of(1L), ids(List.of(Status.IN_PROGRESS), MORNING, MORNING, null));
+    }
+
+    @Test
+    @DisplayName("Given ticket changes committed during a rebuild, when asking for candidates, then the rebuilt bitmaps reflect them")
+    void givenTicketChangesDuringRebuild_whenAskingForCandidates_thenReplayChanges() {
+        rebuild(entry(1L, Status.NEW, MORNING, null));
+
+        // Ticket 1 is read before its change commits, ticket 2 is created after the read
+        index.rebuild(Stream.of(entry(1L, Status.NEW, MORNING, null))
+                .peek(entry -> {
+                    index.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.IN_PROGRESS), ticket(1L, Status.NEW)));
+                    index.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.NEW), null));
+                }), REBUILT);
+
+        assertEquals(List.of(2L), ids(List.of(Status.NEW), MORNING, MORNING, null));
+        assertEquals(List.of(1L), ids(List.of(Status.IN_PROGRESS), MORNING, MORNING, null));
+    }
+
+    private void rebuild(TicketIndexEntryDto... entries) {
+        index.rebuild(Stream.of(entries), REBUILT);
+    }
+
+    private List<Long> ids(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, List<Long> agentIds) {
+        return index.candidates(statuses, startDate, endDate, agentIds).ids();
+    }
+
+    private static TicketIndexEntryDto entry(Long id, Status status, LocalDateTime createdDate, Long assignedAgentId) {
+        return new TicketIndexEntryDto(id, status, createdDate, assignedAgentId);
+    }
+
+    private static TicketDto ticket(Long id, Status status) {
+        return new TicketDto(id, "Ticket " + id, status, MORNING, null, null, null);
+    }
+}
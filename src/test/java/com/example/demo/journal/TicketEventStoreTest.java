@@ -0,0 +1,119 @@
+package com.example.demo.journal;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.event.TicketEventType;
+import com.example.demo.model.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketEventStoreTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Given events in the journal, when the store starts, then it rebuilds the tickets from them")
+    void givenJournalEvents_whenStoreStarts_thenRebuildsTickets() throws Exception {
+        TicketDto created = ticket(1L, Status.NEW, null);
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+        try (TicketJournal journal = journal()) {
+            journal.onTicketChanged(new TicketChangedEvent(created, null));
+            journal.onTicketChanged(new TicketChangedEvent(assigned, created));
+        }
+
+        try (TicketJournal journal = journal()) {
+            TicketEventStore store = new TicketEventStore(journal, 16);
+
+            List<TicketEventDto> history = store.history(1L);
+            assertEquals(List.of(created, assigned), history.stream().map(TicketEventDto::ticket).toList());
+            assertEquals(assigned, store.stateAsOf(1L, LocalDateTime.now()));
+        }
+    }
+
+    @Test
+    @DisplayName("Given a ticket lifecycle, when rebuilding it as of different times, then returns its state at each time")
+    void givenTicketLifecycle_whenRebuildingAsOf_thenReturnsStateAtThatTime() throws Exception {
+        TicketDto created = ticket(1L, Status.NEW, null);
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+        TicketDto resolved = ticket(1L, Status.RESOLVED, "Agent001");
+
+        try (TicketJournal journal = journal()) {
+            TicketEventStore store = new TicketEventStore(journal, 2);
+            store.append(event(1, CREATED_DATE, TicketEventType.CREATED, created));
+            store.append(event(2, CREATED_DATE.plusHours(1), TicketEventType.ASSIGNED, assigned));
+            store.append(event(3, CREATED_DATE.plusHours(2), TicketEventType.RESOLVED, resolved));
+
+            assertNull(store.stateAsOf(1L, CREATED_DATE.minusMinutes(1)));
+            assertEquals(created, store.stateAsOf(1L, CREATED_DATE.plusMinutes(59)));
+            assertEquals(assigned, store.stateAsOf(1L, CREATED_DATE.plusHours(1)));
+            assertEquals(resolved, store.stateAsOf(1L, CREATED_DATE.plusDays(1)));
+            assertNull(store.stateAsOf(2L, CREATED_DATE.plusDays(1)));
+        }
+    }
+
+    @Test
+    @DisplayName("Given more events than the snapshot interval, when rebuilding as of any time, then the snapshots give the same state as a full replay")
+    void givenManyEvents_whenRebuildingAsOf_thenSnapshotsMatchFullReplay() throws Exception {
+        try (TicketJournal journal = journal()) {
+            TicketEventStore store = new TicketEventStore(journal, 3);
+            TicketDto state = ticket(1L, Status.NEW, null);
+            store.append(event(1, CREATED_DATE, TicketEventType.CREATED, state));
+            for (int i = 1; i <= 20; i++) {
+                state = new TicketDto(1L, "description " + i, Status.NEW, CREATED_DATE, null, null, null);
+                store.append(event(i + 1, CREATED_DATE.plusMinutes(i), TicketEventType.UPDATED,
+                        TicketEvents.changes(TicketEventType.UPDATED, state)));
+            }
+
+            List<TicketEventDto> history = store.history(1L);
+            assertEquals(21, history.size());
+            for (int i = 0; i <= 20; i++) {
+                assertEquals(history.get(i).ticket(), store.stateAsOf(1L, CREATED_DATE.plusMinutes(i).plusSeconds(30)));
+            }
+            assertEquals(state, history.get(20).ticket());
+        }
+    }
+
+    @Test
+    @DisplayName("Given an event timestamped before the previous one, when rebuilding as of the earlier time, then the later event is not applied")
+    void givenClockGoingBackwards_whenRebuildingAsOf_thenKeepsEventOrder() throws Exception {
+        TicketDto created = ticket(1L, Status.NEW, null);
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+
+        try (TicketJournal journal = journal()) {
+            TicketEventStore store = new TicketEventStore(journal, 16);
+            store.append(event(1, CREATED_DATE, TicketEventType.CREATED, created));
+            store.append(event(2, CREATED_DATE.minusSeconds(1), TicketEventType.ASSIGNED, assigned));
+
+            assertNull(store.stateAsOf(1L, CREATED_DATE.minusSeconds(1)));
+            assertEquals(assigned, store.stateAsOf(1L, CREATED_DATE));
+        }
+    }
+
+    private TicketJournal journal() {
+        return new TicketJournal(directory.toString(), DataSize.ofMegabytes(1), 16, 4, objectMapper);
+    }
+
+    private static TicketEventDto event(long sequence, LocalDateTime timestamp, TicketEventType type, TicketDto ticket) {
+        return new TicketEventDto(sequence, timestamp, type, TicketEvents.changes(type, ticket));
+    }
+
+    private static TicketDto ticket(Long id, Status status, String assignedAgent) {
+        return new TicketDto(id, "description", status, CREATED_DATE, null, assignedAgent, null);
+    }
+}
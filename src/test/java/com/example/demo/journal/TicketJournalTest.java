@@ -0,0 +1,161 @@
+package com.example.demo.journal;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketEventDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.event.TicketEventType;
+import com.example.demo.model.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketJournalTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Given a ticket lifecycle, when the journal is replayed after a restart, then every event comes back in order and folds back into the ticket")
+    void givenTicketLifecycle_whenReplayingAfterRestart_thenReturnsEveryEventInOrder() throws Exception {
+        TicketDto created = ticket(1L, Status.NEW, null);
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001");
+        TicketDto resolved = ticket(1L, Status.RESOLVED, "Agent001");
+
+        try (TicketJournal journal = journal(DataSize.ofMegabytes(1))) {
+            journal.onTicketChanged(new TicketChangedEvent(created, null));
+            journal.onTicketChanged(new TicketChangedEvent(assigned, created));
+            journal.onTicketChanged(new TicketChangedEvent(resolved, assigned));
+        }
+
+        try (TicketJournal journal = journal(DataSize.ofMegabytes(1))) {
+            journal.onTicketChanged(new TicketChangedEvent(resolved, resolved));
+            journal.close();
+
+            List<TicketEventDto> events = replay(journal);
+            assertEquals(List.of(1L, 2L, 3L, 4L), events.stream().map(TicketEventDto::sequence).toList());
+            assertEquals(List.of(TicketEventType.CREATED, TicketEventType.ASSIGNED, TicketEventType.RESOLVED, TicketEventType.UPDATED),
+                    events.stream().map(TicketEventDto::type).toList());
+            assertEquals(TicketEvents.changes(TicketEventType.RESOLVED, resolved), events.get(2).ticket());
+            TicketDto state = null;
+            for (TicketEventDto event : events.subList(0, 3)) {
+                state = TicketEvents.apply(state, event);
+            }
+            assertEquals(resolved, state);
+        }
+    }
+
+    @Test
+    @DisplayName("Given more events than a segment holds, when replaying, then the events span several segments without gap")
+    void givenMoreEventsThanSegmentHolds_whenReplaying_thenSpansSegmentsWithoutGap() throws Exception {
+        try (TicketJournal journal = journal(DataSize.ofKilobytes(1))) {
+            for (long id = 1; id <= 50; id++) {
+                journal.onTicketChanged(new TicketChangedEvent(ticket(id, Status.NEW, null), null));
+            }
+            journal.close();
+
+            try (Stream<Path> files = Files.list(directory)) {
+                assertTrue(files.count() > 1);
+            }
+            List<TicketEventDto> events = replay(journal);
+            assertEquals(50, events.size());
+            for (int i = 0; i < events.size(); i++) {
+                assertEquals(i + 1, events.get(i).sequence());
+                assertEquals(i + 1, events.get(i).ticket().id());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Given a torn record at the end of the journal, when reopening it, then the record is dropped and appending resumes after the last complete one")
+    void givenTornRecord_whenReopening_thenDropsItAndResumesAppending() throws Exception {
+        try (TicketJournal journal = journal(DataSize.ofMegabytes(1))) {
+            journal.onTicketChanged(new TicketChangedEvent(ticket(1L, Status.NEW, null), null));
+        }
+
+        Path segment = directory.resolve(JournalSegment.fileName(1));
+        long end = replayedBytes(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(100).putInt(42).putInt(7).flip(), end);
+        }
+
+        try (TicketJournal journal = journal(DataSize.ofMegabytes(1))) {
+            journal.onTicketChanged(new TicketChangedEvent(ticket(2L, Status.NEW, null), null));
+            journal.close();
+
+            List<TicketEventDto> events = replay(journal);
+            assertEquals(List.of(1L, 2L), events.stream().map(event -> event.ticket().id()).toList());
+            assertEquals(2L, events.get(1).sequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Given events of several tickets across segments and a restart, when replaying one ticket, then only its events come back in order, including those written after the first lookup")
+    void givenEventsAcrossSegments_whenReplayingOneTicket_thenReturnsItsEventsInOrder() throws Exception {
+        try (TicketJournal journal = journal(DataSize.ofKilobytes(1))) {
+            for (long id = 1; id <= 30; id++) {
+                journal.onTicketChanged(new TicketChangedEvent(ticket(id % 3, Status.NEW, null), null));
+            }
+        }
+
+        try (TicketJournal journal = journal(DataSize.ofKilobytes(1))) {
+            assertEquals(10, replay(journal, 1L).size());
+
+            for (long id = 31; id <= 60; id++) {
+                journal.onTicketChanged(new TicketChangedEvent(ticket(id % 3, Status.NEW, null), null));
+            }
+            journal.close();
+
+            List<TicketEventDto> events = replay(journal, 1L);
+            assertEquals(20, events.size());
+            assertTrue(events.stream().allMatch(event -> event.ticket().id() == 1L));
+            assertEquals(replay(journal).stream().filter(event -> event.ticket().id() == 1L).toList(), events);
+            assertEquals(List.of(), replay(journal, 99L));
+        }
+    }
+
+    private TicketJournal journal(DataSize segmentSize) {
+        return new TicketJournal(directory.toString(), segmentSize, 16, 4, objectMapper);
+    }
+
+    private static List<TicketEventDto> replay(TicketJournal journal) {
+        List<TicketEventDto> events = new ArrayList<>();
+        journal.replay(events::add);
+        return events;
+    }
+
+    private static List<TicketEventDto> replay(TicketJournal journal, Long ticketId) {
+        List<TicketEventDto> events = new ArrayList<>();
+        journal.replay(ticketId, events::add);
+        return events;
+    }
+
+    private static long replayedBytes(Path segment) throws IOException {
+        long[] end = {0};
+        JournalSegment.read(segment, payload -> end[0] += 2 * Integer.BYTES + payload.length);
+        return end[0];
+    }
+
+    private static TicketDto ticket(Long id, Status status, String assignedAgent) {
+        return new TicketDto(id, "description", status, CREATED_DATE, null, assignedAgent, null);
+    }
+}
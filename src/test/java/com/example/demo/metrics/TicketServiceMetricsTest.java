@@ -0,0 +1,95 @@
+package com.example.demo.metrics;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.exception.TicketNotFoundException;
+import com.example.demo.model.Status;
+import com.example.demo.service.TicketService;
+import com.example.demo.util.ErrorMessages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketServiceMetricsTest {
+
+    @Mock
+    private TicketService target;
+
+    private MeterRegistry registry;
+
+    private TicketService ticketService;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new TicketServiceMetrics(registry));
+        ticketService = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("Given a successful call, when the service is called, then the call is timed with a success outcome")
+    void givenSuccessfulCall_whenCallingService_thenTimedAsSuccess() {
+        when(target.getTicketById(1L)).thenReturn(new TicketDto(1L, "description", Status.NEW, null, null, null, null));
+
+        ticketService.getTicketById(1L);
+
+        assertEquals(1, registry.get(TicketServiceMetrics.SERVICE_TIMER)
+                .tags("method", "getTicketById", "outcome", "success", "exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Given a failing call, when the service is called, then the call is timed with the exception class")
+    void givenFailingCall_whenCallingService_thenTimedWithExceptionClass() {
+        when(target.getTicketById(999L)).thenThrow(new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketById(999L));
+
+        assertEquals(1, registry.get(TicketServiceMetrics.SERVICE_TIMER)
+                .tags("method", "getTicketById", "outcome", "error", "exception", "TicketNotFoundException")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Given a ticket search, when the service is called, then the number of tickets returned is recorded")
+    void givenTicketSearch_whenCallingService_thenRecordsResultSize() {
+        when(target.getTickets(any(TicketFilterDto.class))).thenReturn(List.of(
+                new TicketDto(1L, "description", Status.NEW, null, null, null, null),
+                new TicketDto(2L, "description", Status.NEW, null, null, null, null)));
+
+        ticketService.getTickets(new TicketFilterDto(null, null, null, null));
+
+        assertEquals(2.0, registry.get(TicketServiceMetrics.SEARCH_RESULTS).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Given a ticket list, when the service is called, then the number of tickets returned is recorded under getTickets")
+    void givenTicketList_whenCallingService_thenRecordsResultSizeUnderGetTickets() {
+        when(target.getTicketList(any(TicketFilterDto.class))).thenReturn(new TicketListDto(
+                List.of(new TicketDto(1L, "description", Status.NEW, null, null, null, null)),
+                new TicketListStampDto(1, null, 0)));
+
+        ticketService.getTicketList(new TicketFilterDto(null, null, null, null));
+
+        assertEquals(1.0, registry.get(TicketServiceMetrics.SEARCH_RESULTS).summary().totalAmount());
+        assertEquals(1, registry.get(TicketServiceMetrics.SERVICE_TIMER)
+                .tags("method", "getTickets", "outcome", "success", "exception", "none")
+                .timer().count());
+    }
+}
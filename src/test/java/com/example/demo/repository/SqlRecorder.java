@@ -0,0 +1,35 @@
+package com.example.demo.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares, unchanged, so tests can explain the SQL the repositories
+ * really run. Enabled by {@link #PROPERTY}.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.example.demo.repository.SqlRecorder";
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Returns the statements recorded since the last {@link #clear()}, in order.
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
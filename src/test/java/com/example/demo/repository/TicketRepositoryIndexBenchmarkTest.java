@@ -0,0 +1,170 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Seeds H2 with {@code benchmark.rows} tickets (10M by default) and checks that the projection queries
+ * behind the ticket list and pages are answered through the ticket indexes, with the assigned agent joined by
+ * its primary key. The plans are those of the SQL Hibernate generates for the repository calls, recorded by
+ * {@link SqlRecorder} as it is sent. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = SqlRecorder.PROPERTY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TicketRepositoryIndexBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TicketRepositoryIndexBenchmarkTest.class);
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 10_000_000L);
+    private static final int AGENTS = 100;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ticket", Long.class) > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO agent (id, name) SELECT X, CONCAT('Agent', X) FROM SYSTEM_RANGE(1, ?)", AGENTS);
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date, last_modified_date, assigned_agent_id, version)
+                SELECT X,
+                       CONCAT('Ticket ', X),
+                       CASE MOD(X, 4) WHEN 0 THEN 'NEW' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'RESOLVED' ELSE 'CLOSED' END,
+                       DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'),
+                       DATEADD('SECOND', X, TIMESTAMP '2020-01-01 00:00:00'),
+                       MOD(X, ?) + 1,
+                       0
+                FROM SYSTEM_RANGE(1, ?)
+                """, AGENTS, ROWS);
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Seeded {} tickets in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("Given a status and a date range, when listing tickets, then the (status, created_date) index is used")
+    void givenStatusAndDateRange_whenListing_thenUsesStatusCreatedDateIndex() {
+        TicketListDto list = timed("status + date range", () -> ticketRepository.findViewListWithFilters(
+                List.of(Status.NEW), EPOCH.plusDays(1), EPOCH.plusDays(1).plusHours(1), null));
+        assertFalse(list.tickets().isEmpty());
+
+        String plan = explainOnlyQuery(Status.NEW.name(), EPOCH.plusDays(1), EPOCH.plusDays(1).plusHours(1));
+        assertEquals("IDX_TICKET_STATUS_CREATED_DATE", index(plan, "TICKET"), plan);
+        assertJoinsAgentByPrimaryKey(plan);
+    }
+
+    @Test
+    @DisplayName("Given an agent, when listing tickets, then the assigned agent index is used")
+    void givenAgent_whenListing_thenUsesAssignedAgentIndex() {
+        TicketListDto list = timed("assigned agent", () -> ticketRepository.findViewListWithFilters(
+                null, null, EPOCH.plusHours(1), List.of(42L)));
+        assertFalse(list.tickets().isEmpty());
+
+        String plan = explainOnlyQuery(EPOCH.plusHours(1), 42L);
+        assertEquals("IDX_TICKET_ASSIGNED_AGENT", index(plan, "TICKET"), plan);
+        assertJoinsAgentByPrimaryKey(plan);
+    }
+
+    @Test
+    @DisplayName("Given a cursor, when getting the next page, then the (created_date, id) index is used")
+    void givenCursor_whenGettingPage_thenUsesCreatedDateIdIndex() {
+        List<TicketDto> page = timed("keyset page", () -> ticketRepository.findViewPageWithFilters(
+                null, null, null, null, EPOCH.plusDays(31), 2_678_400L, 101));
+        assertEquals(Math.min(101, Math.max(0, ROWS - 2_678_400L)), page.size());
+
+        String plan = explainOnlyQuery(EPOCH.plusDays(31), EPOCH.plusDays(31), 2_678_400L, 101);
+        assertEquals("IDX_TICKET_CREATED_DATE_ID", index(plan, "TICKET"), plan);
+        assertJoinsAgentByPrimaryKey(plan);
+    }
+
+    @Test
+    @DisplayName("Given candidate IDs and a modification date, when getting a page among them, then the IDs go through the primary key and the date through its index")
+    void givenCandidateIdsAndModifiedSince_whenGettingPage_thenUsesPrimaryKeyAndLastModifiedDateIndex() {
+        List<Long> ids = LongStream.rangeClosed(1, 100).map(i -> i * (ROWS / 100)).boxed().toList();
+        LocalDateTime modifiedSince = EPOCH.plusSeconds(ROWS - 1_000);
+        List<TicketDto> page = timed("page among IDs", () -> ticketRepository.findViewPageAmongIds(
+                ids, modifiedSince, null, null, null, null, null, null, 101));
+        assertFalse(page.isEmpty());
+
+        List<String> statements = SqlRecorder.statements();
+        assertEquals(2, statements.size(), statements.toString());
+        List<Object> byIdsParameters = new ArrayList<>(ids);
+        byIdsParameters.add(101);
+        String byIds = explain(statements.get(0), byIdsParameters.toArray());
+        assertTrue(index(byIds, "TICKET").startsWith("PRIMARY_KEY"), byIds);
+        assertJoinsAgentByPrimaryKey(byIds);
+        String bySince = explain(statements.get(1), modifiedSince, 101);
+        assertEquals("IDX_TICKET_LAST_MODIFIED_DATE", index(bySince, "TICKET"), bySince);
+        assertJoinsAgentByPrimaryKey(bySince);
+    }
+
+    private static void assertJoinsAgentByPrimaryKey(String plan) {
+        assertTrue(plan.contains("LEFT OUTER JOIN \"PUBLIC\".\"AGENT\""), plan);
+        assertTrue(index(plan, "AGENT").startsWith("PRIMARY_KEY"), plan);
+    }
+
+    /**
+     * Returns the name of the index H2 reads the table through, as the plan tells in a comment after the table.
+     */
+    private static String index(String plan, String table) {
+        Matcher matcher = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\" \\S+\\s+/\\* PUBLIC\\.(\\w+)").matcher(plan);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    /**
+     * Explains the single query Hibernate sent, bound to the given values in the order of its parameters.
+     */
+    private String explainOnlyQuery(Object... parameters) {
+        List<String> statements = SqlRecorder.statements();
+        assertEquals(1, statements.size(), statements.toString());
+        return explain(statements.get(0), parameters);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        log.info("{}", plan);
+        return plan.toUpperCase();
+    }
+
+    private static <T> T timed(String name, Supplier<T> query) {
+        SqlRecorder.clear();
+        long start = System.nanoTime();
+        T result = query.get();
+        log.info("{}: {} us", name, (System.nanoTime() - start) / 1_000);
+        return result;
+    }
+}
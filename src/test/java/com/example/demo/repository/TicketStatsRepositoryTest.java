@@ -0,0 +1,148 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketStatsDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class TicketStatsRepositoryTest {
+
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TicketStatsRepository ticketStatsRepository;
+
+    @BeforeEach
+    void seed() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (1, 'Alice'), (2, 'Bob')");
+        insert(jdbcTemplate, 1, Status.CLOSED, DAY_1.plusHours(1), DAY_1.plusHours(1).plusSeconds(100), 1L);
+        insert(jdbcTemplate, 2, Status.CLOSED, DAY_1.plusHours(2), DAY_1.plusHours(2).plusSeconds(300), 1L);
+        insert(jdbcTemplate, 3, Status.NEW, DAY_1.plusHours(3), null, null);
+        insert(jdbcTemplate, 4, Status.CLOSED, DAY_2.plusHours(1), DAY_2.plusHours(1).plusSeconds(200), 2L);
+
+        ticketStatsRepository = new TicketStatsRepository(new NamedParameterJdbcTemplate(dataSource));
+    }
+
+    @Test
+    @DisplayName("Given no grouping, when aggregating tickets, then a single group covers every ticket")
+    void givenNoGrouping_whenAggregating_thenReturnsSingleGroup() {
+        List<TicketStatsDto> stats = aggregate(null, null, Set.of());
+
+        assertEquals(1, stats.size());
+        TicketStatsDto total = stats.get(0);
+        assertEquals(4, total.count());
+        assertEquals(3, total.closedCount());
+        assertEquals(200.0, total.meanResolutionSeconds(), 0.001);
+        assertEquals(200.0, total.p50ResolutionSeconds(), 0.001);
+        assertEquals(290.0, total.p95ResolutionSeconds(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Given a grouping by status, when aggregating tickets, then open tickets have no resolution time")
+    void givenGroupingByStatus_whenAggregating_thenOpenTicketsHaveNoResolutionTime() {
+        List<TicketStatsDto> stats = aggregate(null, null, EnumSet.of(TicketStatsGroupBy.STATUS));
+
+        assertEquals(2, stats.size());
+        TicketStatsDto closed = stats.stream().filter(s -> s.status() == Status.CLOSED).findFirst().orElseThrow();
+        TicketStatsDto open = stats.stream().filter(s -> s.status() == Status.NEW).findFirst().orElseThrow();
+        assertEquals(3, closed.count());
+        assertEquals(1, open.count());
+        assertEquals(0, open.closedCount());
+        assertNull(open.meanResolutionSeconds());
+        assertNull(open.p95ResolutionSeconds());
+    }
+
+    @Test
+    @DisplayName("Given a grouping by agent and day, when aggregating tickets, then each agent and day has its own group")
+    void givenGroupingByAgentAndDay_whenAggregating_thenGroupsByAgentAndDay() {
+        List<TicketStatsDto> stats = aggregate(null, null, EnumSet.of(TicketStatsGroupBy.AGENT, TicketStatsGroupBy.DAY));
+
+        assertEquals(3, stats.size());
+        assertTrue(stats.containsAll(List.of(
+                new TicketStatsDto(null, null, null, DAY_1, 1, 0, null, null, null),
+                new TicketStatsDto(null, 1L, "Alice", DAY_1, 2, 2, 200.0, 200.0, 290.0),
+                new TicketStatsDto(null, 2L, "Bob", DAY_2, 1, 1, 200.0, 200.0, 200.0))), stats.toString());
+    }
+
+    @Test
+    @DisplayName("Given agents sharing a name, when aggregating tickets by agent, then each agent has its own group")
+    void givenAgentsSharingName_whenAggregatingByAgent_thenGroupsByAgentId() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (3, 'Alice')");
+        insert(jdbcTemplate, 5, Status.IN_PROGRESS, DAY_2.plusHours(2), null, 3L);
+
+        List<TicketStatsDto> stats = aggregate(null, List.of(1L, 3L), EnumSet.of(TicketStatsGroupBy.AGENT));
+
+        assertEquals(List.of(
+                new TicketStatsDto(null, 1L, "Alice", null, 2, 2, 200.0, 200.0, 290.0),
+                new TicketStatsDto(null, 3L, "Alice", null, 1, 0, null, null, null)), stats);
+    }
+
+    @Test
+    @DisplayName("Given tickets without a status, when aggregating tickets by status, then they have their own group")
+    void givenTicketsWithoutStatus_whenAggregatingByStatus_thenGroupsThemTogether() {
+        insert(new JdbcTemplate(dataSource), 5, null, DAY_2.plusHours(2), null, null);
+
+        List<TicketStatsDto> stats = aggregate(null, null, EnumSet.of(TicketStatsGroupBy.STATUS));
+
+        assertEquals(3, stats.size());
+        TicketStatsDto withoutStatus = stats.stream().filter(s -> s.status() == null).findFirst().orElseThrow();
+        assertEquals(1, withoutStatus.count());
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when aggregating tickets by hour, then only the matching tickets are counted")
+    void givenFilterCriteria_whenAggregatingByHour_thenCountsMatchingTickets() {
+        List<TicketStatsDto> stats = aggregate(List.of(Status.CLOSED), List.of(1L), EnumSet.of(TicketStatsGroupBy.HOUR));
+
+        assertEquals(2, stats.size());
+        assertEquals(DAY_1.plusHours(1), stats.get(0).bucket());
+        assertEquals(100.0, stats.get(0).meanResolutionSeconds(), 0.001);
+        assertEquals(DAY_1.plusHours(2), stats.get(1).bucket());
+        assertEquals(300.0, stats.get(1).meanResolutionSeconds(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Given tickets without status or agent, when counting tickets, then they are left out of the counts")
+    void givenTicketsWithoutStatusOrAgent_whenCounting_thenLeavesThemOut() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (3, 'Alice')");
+        insert(jdbcTemplate, 5, null, DAY_2.plusHours(2), null, null);
+        insert(jdbcTemplate, 6, Status.IN_PROGRESS, DAY_2.plusHours(3), null, 3L);
+
+        assertEquals(Map.of(Status.NEW, 1L, Status.IN_PROGRESS, 1L, Status.CLOSED, 3L), ticketStatsRepository.countByStatus());
+        assertEquals(Map.of(1L, 2L, 2L, 1L, 3L, 1L), ticketStatsRepository.countByAgent());
+    }
+
+    private List<TicketStatsDto> aggregate(List<Status> statuses, List<Long> agentIds, Set<TicketStatsGroupBy> groupBy) {
+        return ticketStatsRepository.aggregate(statuses, DAY_1, DAY_2.plusDays(1), agentIds, groupBy);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, long id, Status status, LocalDateTime createdDate,
+                               LocalDateTime closedDate, Long agentId) {
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date, closed_date, assigned_agent_id, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)
+                """, id, "Ticket " + id, status != null ? status.name() : null, createdDate, closedDate, agentId);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.model.Agent;
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.demo.repository.TicketSpecifications.withFilters;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = SqlRecorder.PROPERTY)
+public class TicketViewRepositoryTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Agent agent;
+
+    @BeforeEach
+    void seed() {
+        agent = entityManager.persist(new Agent(null, "Agent001"));
+        for (int i = 0; i < 4; i++) {
+            Ticket ticket = new Ticket(null, "Ticket " + i, i < 3 ? Status.IN_PROGRESS : Status.NEW, CREATED_DATE.plusMinutes(i));
+            ticket.setAssignedAgent(i < 3 ? agent : null);
+            entityManager.persist(ticket);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when finding ticket views, then the matching tickets are returned without loading any entity")
+    void givenFilterCriteria_whenFindingViews_thenLoadsNoEntity() {
+        List<TicketDto> views = ticketRepository.findViewListWithFilters(List.of(Status.IN_PROGRESS), null, null, List.of(agent.getId())).tickets();
+
+        assertEquals(List.of("Ticket 0", "Ticket 1", "Ticket 2"), views.stream().map(TicketDto::description).toList());
+        assertEquals("Agent001", views.get(0).assignedAgent());
+        assertEquals(CREATED_DATE, views.get(0).createdDate());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Given tickets of the same agent, when finding ticket views, then they share one agent name instance")
+    void givenTicketsOfSameAgent_whenFindingViews_thenShareAgentName() {
+        List<TicketDto> views = ticketRepository.findViewListWithFilters(null, null, null, null).tickets();
+
+        assertEquals(4, views.size());
+        assertSame(views.get(0).assignedAgent(), views.get(1).assignedAgent());
+        assertSame(views.get(1).assignedAgent(), views.get(2).assignedAgent());
+        assertNull(views.get(3).assignedAgent());
+    }
+
+    @Test
+    @DisplayName("Given a cursor, when finding a page of ticket views, then the page starts after the cursor")
+    void givenCursor_whenFindingViewPage_thenStartsAfterCursor() {
+        TicketDto first = ticketRepository.findViewPageWithFilters(null, null, null, null, null, null, 1).get(0);
+
+        List<TicketDto> page = ticketRepository.findViewPageWithFilters(
+                null, null, null, null, first.createdDate(), first.id(), 2);
+
+        assertEquals(List.of("Ticket 1", "Ticket 2"), page.stream().map(TicketDto::description).toList());
+    }
+
+    @Test
+    @DisplayName("Given candidate IDs, when finding a page of ticket views among them, then the filters still apply to the candidates")
+    void givenCandidateIds_whenFindingViewPageAmongIds_thenFiltersCandidates() {
+        List<Long> ids = ticketRepository.findViewListWithFilters(null, null, null, null).tickets().stream().map(TicketDto::id).toList();
+
+        List<TicketDto> page = ticketRepository.findViewPageAmongIds(
+                List.of(ids.get(3), ids.get(2), ids.get(0)), null, List.of(Status.IN_PROGRESS), null, null, null,
+                CREATED_DATE, ids.get(0), 10);
+
+        assertEquals(List.of("Ticket 2"), page.stream().map(TicketDto::description).toList());
+        assertEquals(List.of(), ticketRepository.findViewPageAmongIds(List.of(), null, null, null, null, null, null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Given a modification date, when finding a page of ticket views among candidate IDs, then the tickets modified since are candidates too")
+    void givenModifiedSince_whenFindingViewPageAmongIds_thenIncludesModifiedTickets() {
+        List<Long> ids = ticketRepository.findViewListWithFilters(null, null, null, null).tickets().stream().map(TicketDto::id).toList();
+
+        List<TicketDto> modified = ticketRepository.findViewPageAmongIds(
+                List.of(), LocalDateTime.now().minusHours(1), null, null, null, null, null, null, 10);
+        List<TicketDto> notModified = ticketRepository.findViewPageAmongIds(
+                List.of(ids.get(0)), LocalDateTime.now().plusHours(1), null, null, null, null, null, null, 10);
+
+        assertEquals(ids, modified.stream().map(TicketDto::id).toList());
+        assertEquals(List.of(ids.get(0)), notModified.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("Given candidate IDs and a modification date, when finding ticket views among them, then the IDs are looked up by primary key")
+    void givenCandidateIdsAndModifiedSince_whenFindingViewListAmongIds_thenLooksUpIdsByPrimaryKey() {
+        List<Long> ids = ticketRepository.findViewListWithFilters(null, null, null, null).tickets().stream().map(TicketDto::id).toList();
+        LocalDateTime modifiedSince = LocalDateTime.now().minusHours(1);
+
+        SqlRecorder.clear();
+        TicketListDto list = ticketRepository.findViewListAmongIds(
+                List.of(ids.get(1), ids.get(0)), modifiedSince, List.of(Status.IN_PROGRESS), null, null, null);
+
+        assertEquals(ids.subList(0, 3), list.tickets().stream().map(TicketDto::id).toList());
+        List<String> statements = SqlRecorder.statements();
+        assertEquals(2, statements.size(), statements.toString());
+        String byIds = explain(statements.get(0), ids.get(1), ids.get(0), Status.IN_PROGRESS.name());
+        assertTrue(byIds.contains("PRIMARY_KEY"), byIds);
+        String bySince = explain(statements.get(1), modifiedSince, Status.IN_PROGRESS.name());
+        assertFalse(bySince.contains(" OR "), bySince);
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when finding the list of ticket views, then its stamp is the one the aggregate query returns")
+    void givenFilterCriteria_whenFindingViewList_thenStampMatchesAggregate() {
+        TicketListDto list = ticketRepository.findViewListWithFilters(List.of(Status.IN_PROGRESS), null, null, null);
+        List<Long> ids = list.tickets().stream().map(TicketDto::id).toList();
+
+        assertEquals(List.of("Ticket 0", "Ticket 1", "Ticket 2"), list.tickets().stream().map(TicketDto::description).toList());
+        assertEquals(ticketRepository.findStampWithFilters(List.of(Status.IN_PROGRESS), null, null, null), list.stamp());
+        assertEquals(list, ticketRepository.findViewListAmongIds(ids, null, List.of(Status.IN_PROGRESS), null, null, null));
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when streaming ticket views, then the matching tickets are streamed in order")
+    void givenFilterCriteria_whenStreamingViews_thenStreamsInOrder() {
+        try (Stream<TicketDto> views = ticketRepository.streamViewsWithFilters(null, CREATED_DATE.plusMinutes(2), null, null)) {
+            assertEquals(List.of("Ticket 2", "Ticket 3"), views.map(TicketDto::description).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when stamping the matching tickets, then the stamp changes with any ticket of the list and with no other")
+    void givenFilterCriteria_whenStampingTickets_thenStampFollowsListChanges() {
+        TicketListStampDto stamp = ticketRepository.findStampWithFilters(List.of(Status.IN_PROGRESS), null, null, null);
+        assertEquals(3, stamp.count());
+        assertNotNull(stamp.lastModifiedDate());
+
+        Ticket outside = ticketRepository.findAll(withFilters(List.of(Status.NEW), null, null, null)).get(0);
+        outside.setDescription("Changed");
+        entityManager.flush();
+        assertEquals(stamp, ticketRepository.findStampWithFilters(List.of(Status.IN_PROGRESS), null, null, null));
+
+        Ticket inside = ticketRepository.findAll(withFilters(List.of(Status.IN_PROGRESS), null, null, null)).get(0);
+        inside.setDescription("Changed");
+        entityManager.flush();
+        assertNotEquals(stamp, ticketRepository.findStampWithFilters(List.of(Status.IN_PROGRESS), null, null, null));
+    }
+
+    @Test
+    @DisplayName("Given no matching ticket, when stamping the matching tickets, then the stamp is empty")
+    void givenNoMatchingTicket_whenStampingTickets_thenStampIsEmpty() {
+        assertEquals(new TicketListStampDto(0, null, 0),
+                ticketRepository.findStampWithFilters(List.of(Status.CLOSED), null, null, null));
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return new JdbcTemplate(dataSource).queryForObject("EXPLAIN " + sql, String.class, parameters).toUpperCase();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.TicketSearchEntryDto;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Indexes {@code benchmark.rows} tickets (5M by default) and checks the search latency stays under 50 ms
+ * at the 95th percentile. Run with {@code mvn test -Pbenchmark}; give the JVM a few GB of heap, or set
+ * {@code tickets.search.index-path} to keep the index on disk.
+ */
+@Tag("benchmark")
+public class TicketSearchIndexBenchmarkTest {
+
+    private static final long ROWS = Long.getLong("benchmark.rows", 5_000_000L);
+    private static final int QUERIES = 500;
+    private static final long MAX_P95_MILLIS = 50;
+
+    private static final String[] WORDS = {
+            "printer", "toner", "vpn", "password", "laptop", "screen", "email", "outlook", "wifi", "badge",
+            "keyboard", "mouse", "license", "install", "crash", "slow", "network", "access", "reset", "update"
+    };
+    private static final Status[] STATUSES = Status.values();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static TicketSearchIndex ticketSearchIndex;
+
+    @BeforeAll
+    static void seed() {
+        ticketSearchIndex = new TicketSearchIndex(System.getProperty("tickets.search.index-path", ""));
+
+        long start = System.nanoTime();
+        ticketSearchIndex.rebuild(LongStream.rangeClosed(1, ROWS).mapToObj(TicketSearchIndexBenchmarkTest::ticket));
+        System.out.printf("Indexed %,d tickets in %d ms%n", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterAll
+    static void tearDown() throws IOException {
+        ticketSearchIndex.close();
+    }
+
+    @Test
+    @DisplayName("Given millions of indexed tickets, when searching two words with a status filter, then the p95 latency is under 50 ms")
+    void givenMillionsOfTickets_whenSearching_thenP95LatencyIsUnder50Ms() {
+        // Warms the JIT and the index up with the same queries before timing them
+        for (int i = 0; i < QUERIES; i++) {
+            search(i);
+        }
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            List<TicketSearchIndex.Hit> hits = search(i);
+            latencies[i] = System.nanoTime() - start;
+
+            assertFalse(hits.isEmpty(), "query " + i);
+        }
+
+        Arrays.sort(latencies);
+        long p95Millis = latencies[(int) (QUERIES * 0.95)] / 1_000_000;
+        System.out.printf("Search latency over %,d tickets: p50 %d ms, p95 %d ms%n",
+                ROWS, latencies[QUERIES / 2] / 1_000_000, p95Millis);
+        assertTrue(p95Millis < MAX_P95_MILLIS, "p95 " + p95Millis + " ms");
+    }
+
+    /**
+     * Searches two words of an indexed ticket with its status, so that every query has hits.
+     */
+    private static List<TicketSearchIndex.Hit> search(int query) {
+        long id = 1 + (query * 9_973L) % ROWS;
+        List<Status> statuses = List.of(STATUSES[(int) (id % STATUSES.length)]);
+        return ticketSearchIndex.search(word(id, 1) + " " + word(id, 7), statuses, null, null, null, null, 100);
+    }
+
+    private static TicketSearchEntryDto ticket(long id) {
+        String description = word(id, 1) + " " + word(id, 3) + " " + word(id, 7) + " issue " + id;
+        return new TicketSearchEntryDto(id, description, null, STATUSES[(int) (id % STATUSES.length)],
+                EPOCH.plusSeconds(id), id % 100 + 1);
+    }
+
+    private static String word(long id, int divisor) {
+        return WORDS[(int) ((id / divisor) % WORDS.length)];
+    }
+}
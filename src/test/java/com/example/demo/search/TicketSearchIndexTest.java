@@ -0,0 +1,103 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketSearchEntryDto;
+import com.example.demo.event.TicketChangedEvent;
+import com.example.demo.model.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TicketSearchIndexTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private TicketSearchIndex ticketSearchIndex;
+
+    @BeforeEach
+    void setup() {
+        ticketSearchIndex = new TicketSearchIndex("");
+        ticketSearchIndex.rebuild(Stream.of(
+                new TicketSearchEntryDto(1L, "Printer jammed on floor 2", null, Status.NEW, CREATED_DATE, null),
+                new TicketSearchEntryDto(2L, "Cannot log in", "Printer driver reinstalled", Status.RESOLVED, CREATED_DATE.plusHours(1), 1L),
+                new TicketSearchEntryDto(3L, "Printer out of toner", null, Status.IN_PROGRESS, CREATED_DATE.plusHours(2), 2L),
+                new TicketSearchEntryDto(4L, "VPN drops every hour", null, Status.NEW, CREATED_DATE.plusHours(3), null)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ticketSearchIndex.close();
+    }
+
+    @Test
+    @DisplayName("Given a word in descriptions and resolution summaries, when searching, then the description matches rank first")
+    void givenWordInDescriptionsAndSummaries_whenSearching_thenDescriptionMatchesRankFirst() {
+        List<Long> ids = search("printer", null, null, null);
+
+        assertEquals(3, ids.size());
+        assertEquals(2L, ids.get(2));
+    }
+
+    @Test
+    @DisplayName("Given several words, when searching, then only the tickets containing every word are returned")
+    void givenSeveralWords_whenSearching_thenReturnsTicketsWithEveryWord() {
+        assertEquals(List.of(3L), search("TONER printer", null, null, null));
+        assertEquals(List.of(), search("printer vpn", null, null, null));
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when searching, then only the matching tickets are returned")
+    void givenFilterCriteria_whenSearching_thenAppliesFilters() {
+        assertEquals(List.of(3L), search("printer", List.of(Status.IN_PROGRESS), null, null));
+        assertEquals(List.of(2L), search("printer", null, CREATED_DATE.plusMinutes(30), List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Given the last hit of a page, when searching after it, then the next hits follow without overlap")
+    void givenLastHitOfPage_whenSearchingAfterIt_thenReturnsNextHits() {
+        List<TicketSearchIndex.Hit> all = ticketSearchIndex.search("printer", null, null, null, null, null, 10);
+        List<TicketSearchIndex.Hit> first = ticketSearchIndex.search("printer", null, null, null, null, null, 2);
+        List<TicketSearchIndex.Hit> second = ticketSearchIndex.search("printer", null, null, null, null, first.get(1), 2);
+
+        assertEquals(all.subList(0, 2), first);
+        assertEquals(all.subList(2, 3), second);
+    }
+
+    @Test
+    @DisplayName("Given a ticket changed, when searching, then its new content is searched")
+    void givenTicketChanged_whenSearching_thenSearchesNewContent() {
+        TicketDto previous = new TicketDto(4L, "VPN drops every hour", Status.NEW, CREATED_DATE.plusHours(3), null, null, null);
+        TicketDto updated = new TicketDto(4L, "Printer makes noise", Status.NEW, CREATED_DATE.plusHours(3), null, null, null);
+
+        ticketSearchIndex.onTicketChanged(new TicketChangedEvent(updated, previous));
+
+        assertEquals(List.of(), search("vpn", null, null, null));
+        assertTrue(search("printer", null, null, null).contains(4L));
+    }
+
+    @Test
+    @DisplayName("Given a ticket assigned to an agent, when searching by that agent, then the ticket is found under the agent ID of the change")
+    void givenTicketAssigned_whenSearchingByAgent_thenFindsTicketByAgentId() {
+        TicketDto previous = new TicketDto(1L, "Printer jammed on floor 2", Status.NEW, CREATED_DATE, null, null, null);
+        TicketDto assigned = new TicketDto(1L, "Printer jammed on floor 2", Status.IN_PROGRESS, CREATED_DATE, null, "Agent003", null);
+
+        ticketSearchIndex.onTicketChanged(new TicketChangedEvent(assigned, previous, 3L, null));
+
+        assertEquals(List.of(1L), search("printer", null, null, List.of(3L)));
+        assertEquals(List.of(3L), search("printer", null, null, List.of(2L)));
+    }
+
+    private List<Long> search(String text, List<Status> statuses, LocalDateTime startDate, List<Long> agentIds) {
+        return ticketSearchIndex.search(text, statuses, startDate, null, agentIds, null, 10).stream()
+                .map(TicketSearchIndex.Hit::ticketId)
+                .toList();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AgentChangedEvent;
+import com.example.demo.model.Agent;
+import com.example.demo.repository.AgentRepository;
+import com.example.demo.service.impl.CachedAgentDirectory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AgentDirectoryTest {
+
+    private CachedAgentDirectory agentDirectory;
+
+    @Mock
+    private AgentRepository agentRepository;
+
+    @BeforeEach
+    void setup() {
+        agentDirectory = new CachedAgentDirectory(agentRepository);
+    }
+
+    @Test
+    @DisplayName("Given the same agent name in different cases, when resolving the names, then the agents are loaded once")
+    void givenNameInDifferentCases_whenResolvingNames_thenLoadsAgentsOnce() {
+        when(agentRepository.findAll()).thenReturn(List.of(new Agent(1L, "Agent001"), new Agent(2L, "Agent002")));
+
+        assertEquals(List.of(1L), agentDirectory.findIdsByNames(List.of("Agent001", " AGENT001 ")));
+        assertEquals(List.of(1L, 2L), agentDirectory.findIdsByNames(List.of("agent001", "agent002")));
+        assertEquals(List.of(), agentDirectory.findIdsByNames(List.of("Nobody")));
+        assertEquals("Agent002", agentDirectory.findNameById(2L));
+        assertTrue(agentDirectory.contains(1L));
+        assertFalse(agentDirectory.contains(3L));
+
+        verify(agentRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Given a loaded directory, when an agent is created, renamed or deleted, then only that agent is reloaded")
+    void givenLoadedDirectory_whenAgentChanges_thenReloadsThatAgent() {
+        when(agentRepository.findAll()).thenReturn(List.of(new Agent(1L, "Agent001"), new Agent(2L, "Agent002")));
+        agentDirectory.load();
+
+        when(agentRepository.findById(3L)).thenReturn(Optional.of(new Agent(3L, "Agent003")));
+        when(agentRepository.findById(1L)).thenReturn(Optional.of(new Agent(1L, "Renamed")));
+        when(agentRepository.findById(2L)).thenReturn(Optional.empty());
+        agentDirectory.onAgentChanged(new AgentChangedEvent(3L));
+        agentDirectory.onAgentChanged(new AgentChangedEvent(1L));
+        agentDirectory.onAgentChanged(new AgentChangedEvent(2L));
+
+        assertEquals(List.of(3L), agentDirectory.findIdsByNames(List.of("Agent003")));
+        assertEquals(List.of(1L), agentDirectory.findIdsByNames(List.of("renamed")));
+        assertEquals(List.of(), agentDirectory.findIdsByNames(List.of("Agent001", "Agent002")));
+        assertFalse(agentDirectory.contains(2L));
+        verify(agentRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Given a loaded directory, when an agent is renamed, then the generation changes, and it does not depend on the loading order")
+    void givenLoadedDirectory_whenAgentRenamed_thenGenerationChanges() {
+        when(agentRepository.findAll()).thenReturn(List.of(new Agent(1L, "Agent001"), new Agent(2L, "Agent002")));
+        agentDirectory.load();
+        long generation = agentDirectory.generation();
+
+        when(agentRepository.findById(1L)).thenReturn(Optional.of(new Agent(1L, "Renamed")));
+        agentDirectory.onAgentChanged(new AgentChangedEvent(1L));
+        assertNotEquals(generation, agentDirectory.generation());
+
+        CachedAgentDirectory other = new CachedAgentDirectory(agentRepository);
+        when(agentRepository.findAll()).thenReturn(List.of(new Agent(2L, "Agent002"), new Agent(1L, "Renamed")));
+        other.load();
+        assertEquals(other.generation(), agentDirectory.generation());
+    }
+
+    @Test
+    @DisplayName("Given a loaded agent entity modified afterwards, when looking the agent up, then the directory keeps its own copy")
+    void givenLoadedEntityModified_whenLookingUp_thenDirectoryUnchanged() {
+        Agent agent = new Agent(1L, "Agent001");
+        when(agentRepository.findAll()).thenReturn(List.of(agent));
+        agentDirectory.load();
+
+        agent.setName("Changed");
+
+        assertEquals("Agent001", agentDirectory.findNameById(1L));
+    }
+
+    @Test
+    @DisplayName("Given a directory out of date, when checking it against the database, then it is replaced and the drift is counted")
+    void givenOutdatedDirectory_whenChecking_thenReplacesAndCountsDrift() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        agentDirectory.bindTo(registry);
+        when(agentRepository.findAll())
+                .thenReturn(List.of(new Agent(1L, "Agent001")))
+                .thenReturn(List.of(new Agent(1L, "Agent001")))
+                .thenReturn(List.of(new Agent(1L, "Agent001"), new Agent(2L, "Agent002")));
+        agentDirectory.load();
+
+        agentDirectory.check();
+        assertEquals(0, registry.get("tickets.agent-directory.drifts").functionCounter().count());
+
+        agentDirectory.check();
+        assertEquals(1, registry.get("tickets.agent-directory.drifts").functionCounter().count());
+        assertEquals(List.of(2L), agentDirectory.findIdsByNames(List.of("Agent002")));
+        assertEquals(2, registry.get("tickets.agent-directory.size").gauge().value());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.feed.TicketChangeFeed;
+import com.example.demo.feed.TicketChangeListener;
+import com.example.demo.model.Status;
+import com.example.demo.service.impl.TicketChangeServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketChangeServiceTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @Mock
+    private TicketChangeFeed ticketChangeFeed;
+
+    @Mock
+    private TicketChangeListener listener;
+
+    @Test
+    @DisplayName("Given agent names in any case, when subscribing, then changes of tickets assigned to those agents match")
+    void givenAgentNamesInAnyCase_whenSubscribing_thenMatchAsAgentDirectory() {
+        Predicate<TicketDto> matching = subscribe(new TicketFilterDto(null, null, null, List.of(" AGENT001 ")));
+
+        assertTrue(matching.test(ticket(CREATED_DATE, "Agent001")));
+        assertFalse(matching.test(ticket(CREATED_DATE, "Agent002")));
+        assertFalse(matching.test(ticket(CREATED_DATE, null)));
+    }
+
+    @Test
+    @DisplayName("Given a date range, when a ticket without creation date changes, then the change does not match")
+    void givenDateRange_whenTicketWithoutCreatedDateChanges_thenDoesNotMatch() {
+        Predicate<TicketDto> matching = subscribe(new TicketFilterDto(null, CREATED_DATE.minusDays(1), CREATED_DATE, null));
+
+        assertTrue(matching.test(ticket(CREATED_DATE, null)));
+        assertFalse(matching.test(ticket(CREATED_DATE.plusSeconds(1), null)));
+        assertFalse(matching.test(ticket(null, null)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<TicketDto> subscribe(TicketFilterDto filter) {
+        new TicketChangeServiceImpl(ticketChangeFeed).subscribe(filter, null, listener);
+
+        ArgumentCaptor<Predicate<TicketDto>> matching = ArgumentCaptor.forClass(Predicate.class);
+        verify(ticketChangeFeed).subscribe(matching.capture(), isNull(), eq(listener));
+        return matching.getValue();
+    }
+
+    private static TicketDto ticket(LocalDateTime createdDate, String assignedAgent) {
+        return new TicketDto(1L, "Ticket 1", Status.NEW, createdDate, null, assignedAgent, null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketSearchCursor;
+import com.example.demo.dto.TicketSearchPageDto;
+import com.example.demo.exception.InvalidSearchQueryException;
+import com.example.demo.model.Status;
+import com.example.demo.repository.TicketRepository;
+import com.example.demo.search.TicketSearchIndex;
+import com.example.demo.service.impl.TicketSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketSearchServiceTest {
+
+    private TicketSearchService ticketSearchService;
+
+    @Mock
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private AgentDirectory agentDirectory;
+
+    @BeforeEach
+    void setup() {
+        ticketSearchService = new TicketSearchServiceImpl(ticketSearchIndex, ticketRepository, agentDirectory);
+    }
+
+    @Test
+    @DisplayName("Given more hits than the page size, when searching, then the tickets keep the rank order and the next cursor points to the last one")
+    void givenMoreHitsThanPageSize_whenSearching_thenKeepsRankOrderAndReturnsNextCursor() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        TicketDto ticket1 = new TicketDto(1L, "Printer jammed", Status.NEW, LocalDateTime.now(), null, null, null);
+        TicketDto ticket2 = new TicketDto(2L, "Printer out of toner", Status.NEW, LocalDateTime.now(), null, null, null);
+
+        when(ticketSearchIndex.search(eq("printer"), eq(List.of(Status.NEW)), isNull(), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(new TicketSearchIndex.Hit(2L, 3f), new TicketSearchIndex.Hit(1L, 2f), new TicketSearchIndex.Hit(5L, 1f)));
+        when(ticketRepository.findViewsByIds(List.of(2L, 1L))).thenReturn(List.of(ticket1, ticket2));
+
+        TicketSearchPageDto page = ticketSearchService.searchTickets("printer", filterDto, null, 2);
+
+        assertEquals(List.of(ticket2, ticket1), page.tickets());
+        assertEquals(new TicketSearchCursor(2f, 1L), page.next());
+    }
+
+    @Test
+    @DisplayName("Given an agent name, when searching, then the index is filtered by the ID of that agent")
+    void givenAgentName_whenSearching_thenFiltersIndexByAgentId() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, List.of("Agent001"));
+        TicketDto ticket = new TicketDto(1L, "Printer jammed", Status.IN_PROGRESS, LocalDateTime.now(), null, "Agent001", null);
+
+        when(agentDirectory.findIdsByNames(List.of("Agent001"))).thenReturn(List.of(7L));
+        when(ticketSearchIndex.search(eq("printer"), isNull(), isNull(), isNull(), eq(List.of(7L)), isNull(), eq(11)))
+                .thenReturn(List.of(new TicketSearchIndex.Hit(1L, 1f)));
+        when(ticketRepository.findViewsByIds(List.of(1L))).thenReturn(List.of(ticket));
+
+        TicketSearchPageDto page = ticketSearchService.searchTickets("printer", filterDto, null, 10);
+
+        assertEquals(List.of(ticket), page.tickets());
+        assertNull(page.next());
+    }
+
+    @Test
+    @DisplayName("Given an unknown agent name, when searching, then no ticket is returned and the index is not searched")
+    void givenUnknownAgentName_whenSearching_thenReturnsEmptyPage() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, List.of("Nobody"));
+
+        when(agentDirectory.findIdsByNames(List.of("Nobody"))).thenReturn(List.of());
+
+        TicketSearchPageDto page = ticketSearchService.searchTickets("printer", filterDto, null, 10);
+
+        assertEquals(List.of(), page.tickets());
+        verify(ticketSearchIndex, never()).search(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Given a blank query, when searching, then an InvalidSearchQueryException is thrown")
+    void givenBlankQuery_whenSearching_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+
+        assertThrows(InvalidSearchQueryException.class, () -> ticketSearchService.searchTickets(" ", filterDto, null, 10));
+        verify(ticketSearchIndex, never()).search(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TicketDto;
+import com.example.demo.exception.InvalidTicketStateException;
+import com.example.demo.index.ExistingIdFilter;
+import com.example.demo.model.Agent;
+import com.example.demo.model.Status;
+import com.example.demo.model.Ticket;
+import com.example.demo.repository.AgentRepository;
+import com.example.demo.repository.TicketRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:concurrency;LOCK_TIMEOUT=10000")
+public class TicketServiceConcurrencyTest {
+
+    private static final int WRITERS = 64;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private ExistingIdFilter existingIdFilter;
+
+    @Test
+    @DisplayName("Given a new ticket, when 64 writers assign different agents concurrently, then exactly one assignment wins and the others are rejected")
+    void givenNewTicket_whenAssigningAgentsConcurrently_thenOnlyOneAssignmentWins() throws Exception {
+        Long ticketId = ticketRepository.save(new Ticket(null, "description", Status.NEW, LocalDateTime.now())).getId();
+        List<Long> agentIds = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            agentIds.add(agentRepository.save(new Agent(null, "Agent" + i)).getId());
+        }
+        existingIdFilter.refresh(); // Saved behind the service's back, as another node would
+
+        Queue<TicketDto> assigned = new ConcurrentLinkedQueue<>();
+        Queue<Exception> rejected = new ConcurrentLinkedQueue<>();
+        runConcurrently(writer -> () -> {
+            try {
+                assigned.add(ticketService.assignAgentToTicket(ticketId, agentIds.get(writer)));
+            } catch (ConcurrencyFailureException | InvalidTicketStateException e) {
+                rejected.add(e);
+            }
+        });
+
+        assertEquals(1, assigned.size());
+        assertEquals(WRITERS - 1, rejected.size());
+        assertEquals(assigned.peek().assignedAgent(), ticketService.getTicketById(ticketId).assignedAgent());
+    }
+
+    @Test
+    @DisplayName("Given a ticket, when 64 writers update it concurrently, then every accepted update is kept in the version")
+    void givenTicket_whenUpdatingConcurrently_thenNoUpdateIsLost() throws Exception {
+        Ticket ticket = ticketRepository.save(new Ticket(null, "description", Status.NEW, LocalDateTime.now()));
+        long initialVersion = ticket.getVersion();
+        existingIdFilter.refresh();
+
+        Queue<TicketDto> updated = new ConcurrentLinkedQueue<>();
+        runConcurrently(writer -> () -> {
+            try {
+                TicketDto ticketDto = new TicketDto(null, "description " + writer, null, null, null, null, null);
+                updated.add(ticketService.updateTicket(ticket.getId(), ticketDto));
+            } catch (ConcurrencyFailureException e) {
+                // Rejected, the writer would have to retry on fresh data
+            }
+        });
+
+        Ticket finalTicket = ticketRepository.findById(ticket.getId()).orElseThrow();
+        assertFalse(updated.isEmpty());
+        assertEquals(initialVersion + updated.size(), finalTicket.getVersion());
+        assertTrue(updated.stream().anyMatch(ticketDto -> ticketDto.description().equals(finalTicket.getDescription())));
+    }
+
+    private static void runConcurrently(IntFunction<Runnable> writers) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                Runnable writer = writers.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    writer.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
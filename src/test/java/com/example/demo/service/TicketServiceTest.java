@@ -1,24 +1,46 @@
 package com.example.demo.service;
 
+import com.example.demo.cache.TicketCache;
+import com.example.demo.cache.TicketListCache;
+import com.example.demo.dto.TicketBatchErrorDto;
+import com.example.demo.dto.TicketBatchResultDto;
+import com.example.demo.dto.TicketCursor;
 import com.example.demo.dto.TicketDto;
 import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketIndexEntryDto;
+import com.example.demo.dto.TicketListDto;
+import com.example.demo.dto.TicketListStampDto;
+import com.example.demo.dto.TicketPageDto;
+import com.example.demo.dto.TicketTransitionResultDto;
+import com.example.demo.dto.VersionedTicketDto;
+import com.example.demo.event.TicketChangedEvent;
 import com.example.demo.exception.*;
+import com.example.demo.index.ExistingIdFilter;
+import com.example.demo.index.TicketBitmapIndex;
 import com.example.demo.model.Agent;
 import com.example.demo.model.Status;
 import com.example.demo.model.Ticket;
 import com.example.demo.repository.AgentRepository;
 import com.example.demo.repository.TicketRepository;
 import com.example.demo.service.impl.TicketServiceImpl;
+import com.example.demo.util.ErrorMessages;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +49,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class TicketServiceTest {
 
+    private static final int BATCH_SIZE = 2;
+
     private TicketService ticketService;
 
     @Mock
@@ -35,9 +59,26 @@ public class TicketServiceTest {
     @Mock
     private AgentRepository agentRepository;
 
+    @Mock
+    private AgentDirectory agentDirectory;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TicketCache ticketCache;
+
+    private TicketBitmapIndex ticketBitmapIndex;
+
+    private ExistingIdFilter existingIdFilter;
+
     @BeforeEach
     void setup() {
-        ticketService = new TicketServiceImpl(ticketRepository, agentRepository);
+        ticketCache = new TicketCache(100, Duration.ofMinutes(5));
+        ticketBitmapIndex = new TicketBitmapIndex(ticketRepository, 5000, Duration.ofMinutes(1));
+        existingIdFilter = new ExistingIdFilter(ticketRepository, 100, 0.01, Duration.ofMinutes(1));
+        ticketService = new TicketServiceImpl(ticketRepository, agentRepository, agentDirectory, ticketCache,
+                new TicketListCache(Duration.ZERO, 0), ticketBitmapIndex, existingIdFilter, eventPublisher,
+                TransactionOperations.withoutTransaction(), BATCH_SIZE);
     }
 
     @Test
@@ -52,6 +93,20 @@ public class TicketServiceTest {
         verify(ticketRepository, times(1)).save(any(Ticket.class));
     }
 
+    @Test
+    @DisplayName("Given a ticket without a creation date, when it is created, then it is saved dated now")
+    void givenTicketWithoutCreatedDate_whenTicketIsCreated_thenSavedDatedNow() {
+        TicketDto ticketDto = new TicketDto(null, "description", null, null, null, null, null);
+        LocalDateTime before = LocalDateTime.now();
+
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketDto createdTicket = ticketService.createTicket(ticketDto);
+
+        assertNotNull(createdTicket.createdDate());
+        assertFalse(createdTicket.createdDate().isBefore(before));
+    }
+
     @Test
     @DisplayName("Given ticket details are provided, when a new ticket is created, then the NEW status and the creation date is saved")
     void givenTicketDetails_whenTicketIsCreated_thenSetNewStatusAndCreationDate() {
@@ -76,6 +131,52 @@ public class TicketServiceTest {
         assertThrows(MissingDescriptionException.class, () -> ticketService.createTicket(ticketDto));
     }
 
+    @Test
+    @DisplayName("Given a batch size that is not positive, when creating the service, then an IllegalArgumentException is thrown")
+    void givenNonPositiveBatchSize_whenCreatingService_thenThrowException() {
+        for (int batchSize : new int[]{0, -1}) {
+            assertThrows(IllegalArgumentException.class, () -> new TicketServiceImpl(ticketRepository, agentRepository,
+                    agentDirectory, ticketCache, new TicketListCache(Duration.ZERO, 0), ticketBitmapIndex, existingIdFilter,
+                    eventPublisher, TransactionOperations.withoutTransaction(), batchSize));
+        }
+    }
+
+    @Test
+    @DisplayName("Given more tickets than the batch size, when creating the tickets, then they are saved batch by batch")
+    void givenMoreTicketsThanBatchSize_whenCreatingTickets_thenSavesInBatches() {
+        Stream<TicketDto> ticketDtos = Stream.of("Ticket 1", "Ticket 2", "Ticket 3")
+                .map(description -> new TicketDto(null, description, Status.NEW, LocalDateTime.now(), null, null, null));
+
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketBatchResultDto result = ticketService.createTickets(ticketDtos);
+
+        assertEquals(new TicketBatchResultDto(3, 3, List.of()), result);
+        verify(ticketRepository, times(2)).saveAll(anyList());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    @DisplayName("Given tickets without a description or unreadable, when creating the tickets, then they are reported and the others are saved")
+    void givenInvalidTickets_whenCreatingTickets_thenReportsErrorsByIndex() {
+        Stream<TicketDto> ticketDtos = Arrays.stream(new TicketDto[]{
+                new TicketDto(null, "Ticket 1", Status.NEW, LocalDateTime.now(), null, null, null),
+                new TicketDto(null, "", Status.NEW, LocalDateTime.now(), null, null, null),
+                null
+        });
+
+        when(ticketRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketBatchResultDto result = ticketService.createTickets(ticketDtos);
+
+        assertEquals(3, result.received());
+        assertEquals(1, result.created());
+        assertEquals(List.of(
+                new TicketBatchErrorDto(1, ErrorMessages.DESCRIPTION_REQUIRED),
+                new TicketBatchErrorDto(2, ErrorMessages.INVALID_TICKET_FORMAT)
+        ), result.errors());
+    }
+
     @Test
     @DisplayName("Given a new ticket, when an agent is assigned, then the ticket status is updated to 'IN_PROGRESS'")
     void givenNewTicket_whenAssigningAgent_thenStatusIsInProgress() {
@@ -98,6 +199,27 @@ public class TicketServiceTest {
         assertEquals(Status.IN_PROGRESS, updatedTicket.status());
     }
 
+    @Test
+    @DisplayName("Given an agent the directory knows, when it is assigned, then the agent is referenced and named without being loaded")
+    void givenAgentInDirectory_whenAssigningAgent_thenAgentIsNotLoaded() {
+        Ticket ticket = new Ticket(1L, "description", Status.NEW, LocalDateTime.now());
+        Agent reference = new Agent(7L, null); // Stands for the uninitialized proxy
+
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(agentDirectory.contains(7L)).thenReturn(true);
+        when(agentDirectory.findNameById(7L)).thenReturn("Agent007");
+        when(agentRepository.getReferenceById(7L)).thenReturn(reference);
+
+        TicketDto updatedTicket = ticketService.assignAgentToTicket(1L, 7L);
+
+        assertSame(reference, ticket.getAssignedAgent());
+        assertEquals("Agent007", updatedTicket.assignedAgent());
+        verify(agentRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(argThat((TicketChangedEvent event) ->
+                event.assignedAgentId() == 7L && event.previousAssignedAgentId() == null));
+    }
+
     @Test
     @DisplayName("Given a nonexistent ticket, when assigning to a ticket, then a TicketNotFoundException is thrown")
     void givenNonexistentTicket_whenAssigningAgent_thenThrowException() {
@@ -236,6 +358,78 @@ public class TicketServiceTest {
                 () -> ticketService.closeTicket(ticketId));
     }
 
+    @Test
+    @DisplayName("Given new, in progress and nonexistent tickets, when assigning an agent to them, then only the new tickets are assigned and saved together")
+    void givenMixedTickets_whenAssigningAgentToTickets_thenReportsEachTicket() {
+        Long agentId = 1L;
+        Agent agent = new Agent(agentId, "Agent001");
+        Ticket newTicket = new Ticket(1L, "description", Status.NEW, LocalDateTime.now());
+        Ticket ticketInProgress = new Ticket(2L, "description", Status.IN_PROGRESS, LocalDateTime.now());
+
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(newTicket, ticketInProgress));
+        when(ticketRepository.saveAll(List.of(newTicket))).thenReturn(List.of(newTicket));
+
+        List<TicketTransitionResultDto> results = ticketService.assignAgentToTickets(List.of(1L, 2L, 3L), agentId);
+
+        assertEquals(3, results.size());
+        assertEquals(Status.IN_PROGRESS, results.get(0).ticket().status());
+        assertEquals("Agent001", results.get(0).ticket().assignedAgent());
+        assertEquals(new TicketTransitionResultDto(2L, null, ErrorMessages.ONLY_NEW_TICKET_CAN_BE_ASSIGNED_TO_AN_AGENT), results.get(1));
+        assertEquals(new TicketTransitionResultDto(3L, null, ErrorMessages.TICKET_NOT_FOUND), results.get(2));
+        verify(ticketRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Given a nonexistent agent, when assigning it to many tickets, then an AgentNotFoundException is thrown")
+    void givenNonexistentAgent_whenAssigningToTickets_thenThrowException() {
+        when(agentRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(AgentNotFoundException.class, () -> ticketService.assignAgentToTickets(List.of(1L), 99L));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    @DisplayName("Given resolved tickets with and without a summary, when closing them, then only the tickets with a summary are closed")
+    void givenResolvedTickets_whenClosingTickets_thenClosesOnlyTicketsWithSummary() {
+        Ticket ticketWithSummary = new Ticket(1L, "description", Status.RESOLVED, LocalDateTime.now());
+        ticketWithSummary.setResolutionSummary("Issue resolved");
+        Ticket ticketWithoutSummary = new Ticket(2L, "description", Status.RESOLVED, LocalDateTime.now());
+
+        when(ticketRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(ticketWithSummary, ticketWithoutSummary));
+        when(ticketRepository.saveAll(List.of(ticketWithSummary))).thenReturn(List.of(ticketWithSummary));
+
+        List<TicketTransitionResultDto> results = ticketService.closeTickets(List.of(1L, 2L));
+
+        assertEquals(Status.CLOSED, results.get(0).ticket().status());
+        assertNotNull(results.get(0).ticket().closedDate());
+        assertEquals(new TicketTransitionResultDto(2L, null, ErrorMessages.RESOLUTION_SUMMARY_REQUIRED), results.get(1));
+    }
+
+    @Test
+    @DisplayName("Given a ticket changed by another request meanwhile, when resolving many tickets, then only that ticket is reported as a conflict and the others are resolved")
+    void givenTicketChangedConcurrently_whenResolvingTickets_thenReportsOnlyThatTicket() {
+        Ticket changedTicket = new Ticket(1L, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        Ticket otherTicket = new Ticket(2L, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        Ticket changedTicketReread = new Ticket(1L, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        Ticket otherTicketReread = new Ticket(2L, "description", Status.IN_PROGRESS, LocalDateTime.now());
+
+        when(ticketRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(changedTicket, otherTicket));
+        when(ticketRepository.saveAll(List.of(changedTicket, otherTicket)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Ticket.class, 1L));
+        when(ticketRepository.findAllById(List.of(1L))).thenReturn(List.of(changedTicketReread));
+        when(ticketRepository.saveAll(List.of(changedTicketReread)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Ticket.class, 1L));
+        when(ticketRepository.findAllById(List.of(2L))).thenReturn(List.of(otherTicketReread));
+        when(ticketRepository.saveAll(List.of(otherTicketReread))).thenReturn(List.of(otherTicketReread));
+
+        List<TicketTransitionResultDto> results = ticketService.resolveTickets(List.of(1L, 2L));
+
+        assertEquals(new TicketTransitionResultDto(1L, null, ErrorMessages.TICKET_MODIFIED_CONCURRENTLY), results.get(0));
+        assertEquals(Status.RESOLVED, results.get(1).ticket().status());
+        verify(eventPublisher, times(1)).publishEvent(any(TicketChangedEvent.class));
+    }
+
     @Test
     @DisplayName("Given a ticket description and resolution summary, when updating the ticket, then the description and resolution summary are updated")
     void givenTicketDescriptionAndResolutionSummary_whenUpdating_thenDescriptionAndResolutionSummaryAreUpdated() {
@@ -297,6 +491,58 @@ public class TicketServiceTest {
         assertEquals(ticketId, ticketDto.id());
     }
 
+    @Test
+    @DisplayName("Given a ticket already read, when getting the ticket again, then it is served from the cache")
+    void givenTicketAlreadyRead_whenGettingTicketAgain_thenServedFromCache() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        TicketDto first = ticketService.getTicketById(ticketId);
+        TicketDto second = ticketService.getTicketById(ticketId);
+
+        assertEquals(first, second);
+        verify(ticketRepository, times(1)).findById(ticketId);
+    }
+
+    @Test
+    @DisplayName("Given a ticket, when getting it with its version, then the version is the one the ticket was read at")
+    void givenTicket_whenGettingVersionedTicket_thenReturnVersionReadWithIt() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        ticket.setVersion(3L);
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        VersionedTicketDto versionedTicket = ticketService.getVersionedTicketById(ticketId);
+
+        assertEquals(ticketId, versionedTicket.ticket().id());
+        assertEquals(3, versionedTicket.version());
+        assertEquals(versionedTicket.ticket(), ticketService.getTicketById(ticketId));
+        verify(ticketRepository, times(1)).findById(ticketId);
+    }
+
+    @Test
+    @DisplayName("Given a cached ticket, when the ticket is resolved, then a change event is published and the next read reloads it")
+    void givenCachedTicket_whenResolving_thenCacheIsInvalidated() {
+        Long ticketId = 1L;
+        LocalDateTime createdDate = LocalDateTime.now();
+        Ticket ticket = new Ticket(ticketId, "description", Status.IN_PROGRESS, createdDate);
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketDto previousTicket = ticketService.getTicketById(ticketId);
+        TicketDto resolvedTicket = ticketService.resolveTicket(ticketId);
+
+        TicketChangedEvent event = new TicketChangedEvent(resolvedTicket, previousTicket);
+        verify(eventPublisher).publishEvent(event);
+        ticketCache.onTicketChanged(event);
+
+        assertEquals(Status.RESOLVED, ticketService.getTicketById(ticketId).status());
+    }
+
     @Test
     @DisplayName("Given a nonexistent ticket ID, when getting the ticket, then a TicketNotFoundException is thrown")
     void givenNonexistentTicket_whenGettingTicket_thenThrowException() {
@@ -309,22 +555,142 @@ public class TicketServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("Given a ticket ID the ID filter knows is absent, when getting the ticket, then a TicketNotFoundException is thrown without querying")
+    void givenAbsentTicketId_whenGettingTicket_thenThrowWithoutQuerying() {
+        existingIdFilter.rebuild(2, Stream.of(1L, 1000L), LocalDateTime.now());
+
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketById(999L));
+        verify(ticketRepository, never()).findById(any());
+        verify(ticketRepository, never()).findIdsModifiedSince(any());
+    }
+
+    @Test
+    @DisplayName("Given a ticket ID another node created since the ID filter was rebuilt, when getting the ticket after a refresh, then the ticket is found")
+    void givenTicketIdCreatedElsewhereSinceRebuild_whenGettingTicketAfterRefresh_thenReturnTicket() {
+        existingIdFilter.rebuild(2, Stream.of(1L, 1000L), LocalDateTime.now());
+        Ticket ticket = new Ticket(999L, "description", Status.NEW, LocalDateTime.now());
+
+        existingIdFilter.refresh(List.of(999L), LocalDateTime.now());
+        when(ticketRepository.findById(999L)).thenReturn(Optional.of(ticket));
+
+        assertEquals(999L, ticketService.getTicketById(999L).id());
+    }
+
+    @Test
+    @DisplayName("Given a nonexistent ticket ID, when getting the ticket version, then a TicketNotFoundException is thrown")
+    void givenNonexistentTicket_whenGettingTicketVersion_thenThrowException() {
+        when(ticketRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketVersion(999L));
+    }
+
+    @Test
+    @DisplayName("Given a filter in any order, when getting tickets, then the query runs with the normalized filter and the exact dates")
+    void givenUnorderedFilter_whenGettingTickets_thenQueriesNormalizedFilter() {
+        LocalDateTime startDate = LocalDateTime.of(2024, 1, 1, 10, 0, 30, 123_000_000);
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.RESOLVED, Status.NEW, Status.NEW), startDate, null, List.of());
+
+        when(ticketRepository.findViewListWithFilters(anyList(), any(), any(), any())).thenReturn(list());
+
+        ticketService.getTickets(filterDto);
+
+        verify(ticketRepository).findViewListWithFilters(
+                List.of(Status.NEW, Status.RESOLVED), startDate, null, null);
+    }
+
+    @Test
+    @DisplayName("Given an unknown agent name, when getting the stamp of the tickets, then the stamp of an empty list is returned without querying the tickets")
+    void givenUnknownAgentName_whenGettingTicketsStamp_thenReturnEmptyStamp() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, List.of("Nobody"));
+
+        when(agentDirectory.findIdsByNames(List.of("Nobody"))).thenReturn(List.of());
+
+        assertEquals(new TicketListStampDto(0, null, 0), ticketService.getTicketsStamp(filterDto));
+        verify(ticketRepository, never()).findStampWithFilters(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Given filter criteria, when getting tickets, then the returned tickets match the filter criteria")
     void givenFilterCriteria_whenGettingTickets_thenReturnFilteredTickets() {
         TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
-        List<Ticket> filteredTickets = List.of(
-                new Ticket(1L, "Ticket 1", Status.NEW, LocalDateTime.now()),
-                new Ticket(2L, "Ticket 2", Status.NEW, LocalDateTime.now())
+        List<TicketDto> filteredTickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.now(), null, null, null),
+                new TicketDto(2L, "Ticket 2", Status.NEW, LocalDateTime.now(), null, null, null)
         );
 
-        when(ticketRepository.findWithFilters(anyList(), any(), any(), any())).thenReturn(filteredTickets);
+        when(ticketRepository.findViewListWithFilters(anyList(), any(), any(), any())).thenReturn(list(filteredTickets));
 
         List<TicketDto> ticketDtos = ticketService.getTickets(filterDto);
 
         assertEquals(2, ticketDtos.size());
     }
 
+    @Test
+    @DisplayName("Given agent names, when getting tickets, then the tickets are filtered by the IDs of those agents")
+    void givenAgentNames_whenGettingTickets_thenFilterByAgentIds() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, List.of("Agent001", "agent002"));
+        TicketDto ticket = new TicketDto(1L, "Ticket 1", Status.IN_PROGRESS, LocalDateTime.now(), null, "Agent001", null);
+
+        when(agentDirectory.findIdsByNames(List.of("agent001", "agent002"))).thenReturn(List.of(1L, 2L));
+        when(ticketRepository.findViewListWithFilters(any(), any(), any(), eq(List.of(1L, 2L)))).thenReturn(list(List.of(ticket)));
+
+        List<TicketDto> ticketDtos = ticketService.getTickets(filterDto);
+
+        assertEquals(1, ticketDtos.size());
+        assertEquals("Agent001", ticketDtos.get(0).assignedAgent());
+    }
+
+    @Test
+    @DisplayName("Given an unknown agent name, when getting tickets, then no ticket is returned without querying the tickets")
+    void givenUnknownAgentName_whenGettingTickets_thenReturnNoTicket() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, List.of("Nobody"));
+
+        when(agentDirectory.findIdsByNames(List.of("nobody"))).thenReturn(List.of());
+
+        TicketListDto tickets = ticketService.getTicketList(filterDto);
+
+        assertTrue(tickets.tickets().isEmpty());
+        assertEquals(new TicketListStampDto(0, null, 0), tickets.stamp());
+        verify(ticketRepository, never()).findViewListWithFilters(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Given a filter on status and agent the bitmap index narrows down, when getting tickets, then only the candidate tickets are queried")
+    void givenIndexedMultiCriteriaFilter_whenGettingTickets_thenQueryCandidateIdsOnly() {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TicketDto ticket = new TicketDto(2L, "Ticket 2", Status.IN_PROGRESS, createdDate, null, "Agent001", null);
+        LocalDateTime rebuiltAt = LocalDateTime.of(2024, 1, 2, 0, 0);
+        ticketBitmapIndex.rebuild(Stream.of(
+                new TicketIndexEntryDto(1L, Status.NEW, createdDate, null),
+                new TicketIndexEntryDto(2L, Status.IN_PROGRESS, createdDate, 1L),
+                new TicketIndexEntryDto(3L, Status.IN_PROGRESS, createdDate, 2L)), rebuiltAt);
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.IN_PROGRESS), null, null, List.of("Agent001"));
+
+        when(agentDirectory.findIdsByNames(List.of("agent001"))).thenReturn(List.of(1L));
+        when(ticketRepository.findViewListAmongIds(eq(List.of(2L)), eq(rebuiltAt.minusMinutes(1)), eq(List.of(Status.IN_PROGRESS)), any(), any(),
+                eq(List.of(1L)))).thenReturn(list(List.of(ticket)));
+
+        List<TicketDto> ticketDtos = ticketService.getTickets(filterDto);
+
+        assertEquals(List.of(ticket), ticketDtos);
+        verify(ticketRepository, never()).findViewListWithFilters(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Given a filter on one criterion, when getting tickets, then the bitmap index is bypassed")
+    void givenSingleCriterionFilter_whenGettingTickets_thenBypassBitmapIndex() {
+        ticketBitmapIndex.rebuild(Stream.of(
+                new TicketIndexEntryDto(1L, Status.NEW, LocalDateTime.of(2024, 1, 1, 10, 0), null)), LocalDateTime.now());
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+
+        when(ticketRepository.findViewListWithFilters(anyList(), any(), any(), any())).thenReturn(list());
+
+        ticketService.getTickets(filterDto);
+
+        verify(ticketRepository, never()).findViewListAmongIds(any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("Given an invalid date range, when getting tickets, then an InvalidDateRangeException is thrown")
     void givenInvalidDateRange_whenGettingTickets_thenThrowException() {
@@ -337,4 +703,95 @@ public class TicketServiceTest {
 
         assertThrows(InvalidDateRangeException.class, () -> ticketService.getTickets(filterDto));
     }
+
+    @Test
+    @DisplayName("Given more tickets than the page size, when getting a page of tickets, then the page is full and the next cursor points to its last ticket")
+    void givenMoreTicketsThanPageSize_whenGettingTicketsPage_thenReturnNextCursor() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, createdDate, null, null, null),
+                new TicketDto(2L, "Ticket 2", Status.NEW, createdDate, null, null, null),
+                new TicketDto(3L, "Ticket 3", Status.NEW, createdDate.plusHours(1), null, null, null)
+        );
+
+        when(ticketRepository.findViewPageWithFilters(anyList(), any(), any(), any(), any(), any(), eq(3))).thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketsPage(filterDto, null, 2);
+
+        assertEquals(2, page.tickets().size());
+        assertEquals(new TicketCursor(createdDate, 2L), page.next());
+    }
+
+    @Test
+    @DisplayName("Given a filter the bitmap index narrows down, when getting a page of tickets, then the page is read among the candidate tickets")
+    void givenIndexedMultiCriteriaFilter_whenGettingTicketsPage_thenQueryCandidateIdsOnly() {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TicketDto ticket = new TicketDto(1L, "Ticket 1", Status.NEW, createdDate, null, null, null);
+        ticketBitmapIndex.rebuild(Stream.of(
+                new TicketIndexEntryDto(1L, Status.NEW, createdDate, null),
+                new TicketIndexEntryDto(2L, Status.NEW, createdDate.plusDays(2), null)), LocalDateTime.now());
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), createdDate, createdDate.plusMinutes(30), null);
+
+        when(ticketRepository.findViewPageAmongIds(eq(List.of(1L)), any(), anyList(), any(), any(), any(), any(), any(), eq(3)))
+                .thenReturn(List.of(ticket));
+
+        TicketPageDto page = ticketService.getTicketsPage(filterDto, null, 2);
+
+        assertEquals(List.of(ticket), page.tickets());
+        assertNull(page.next());
+    }
+
+    @Test
+    @DisplayName("Given the last page of tickets, when getting a page of tickets after a cursor, then there is no next cursor")
+    void givenLastPage_whenGettingTicketsPage_thenNoNextCursor() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+        TicketCursor after = new TicketCursor(LocalDateTime.of(2024, 1, 1, 10, 0), 2L);
+        List<TicketDto> tickets = List.of(new TicketDto(3L, "Ticket 3", Status.NEW, LocalDateTime.of(2024, 1, 1, 11, 0), null, null, null));
+
+        when(ticketRepository.findViewPageWithFilters(any(), any(), any(), any(), eq(after.createdDate()), eq(after.id()), anyInt()))
+                .thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketsPage(filterDto, after, 2);
+
+        assertEquals(1, page.tickets().size());
+        assertNull(page.next());
+    }
+
+    @Test
+    @DisplayName("Given filter criteria, when streaming tickets, then every matching ticket is passed to the consumer in order")
+    void givenFilterCriteria_whenStreamingTickets_thenConsumeEveryTicket() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+
+        when(ticketRepository.streamViewsWithFilters(anyList(), any(), any(), any())).thenReturn(Stream.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.now(), null, null, null),
+                new TicketDto(2L, "Ticket 2", Status.NEW, LocalDateTime.now(), null, null, null)
+        ));
+
+        List<TicketDto> consumed = new ArrayList<>();
+        ticketService.streamTickets(filterDto, consumed::add);
+
+        assertEquals(List.of(1L, 2L), consumed.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    @DisplayName("Given an invalid date range, when streaming tickets, then an InvalidDateRangeException is thrown")
+    void givenInvalidDateRange_whenStreamingTickets_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(
+                null,
+                LocalDateTime.of(2023, 6, 25, 0, 0),
+                LocalDateTime.of(1999, 6, 25, 0, 0),
+                null
+        );
+
+        assertThrows(InvalidDateRangeException.class, () -> ticketService.streamTickets(filterDto, ticketDto -> {}));
+    }
+
+    private static TicketListDto list() {
+        return list(List.of());
+    }
+
+    private static TicketListDto list(List<TicketDto> tickets) {
+        return new TicketListDto(tickets, new TicketListStampDto(tickets.size(), null, 0));
+    }
 }
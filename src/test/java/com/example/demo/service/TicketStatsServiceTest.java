@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import com.example.demo.cache.TicketCounters;
+import com.example.demo.dto.TicketFilterDto;
+import com.example.demo.dto.TicketStatsGroupBy;
+import com.example.demo.exception.InvalidStatsGroupingException;
+import com.example.demo.repository.TicketStatsRepository;
+import com.example.demo.service.impl.TicketStatsServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketStatsServiceTest {
+
+    @Mock
+    private TicketStatsRepository ticketStatsRepository;
+
+    @Mock
+    private AgentDirectory agentDirectory;
+
+    @Mock
+    private TicketCounters ticketCounters;
+
+    @Test
+    @DisplayName("Given a grouping by both hour and day, when getting ticket stats, then an InvalidStatsGroupingException is thrown")
+    void givenGroupingByHourAndDay_whenGettingTicketStats_thenThrowException() {
+        TicketStatsService ticketStatsService = new TicketStatsServiceImpl(ticketStatsRepository, agentDirectory, ticketCounters);
+        TicketFilterDto filter = new TicketFilterDto(null, null, null, null);
+
+        assertThrows(InvalidStatsGroupingException.class, () -> ticketStatsService.getTicketStats(filter,
+                EnumSet.of(TicketStatsGroupBy.STATUS, TicketStatsGroupBy.HOUR, TicketStatsGroupBy.DAY)));
+        verifyNoInteractions(ticketStatsRepository);
+    }
+}